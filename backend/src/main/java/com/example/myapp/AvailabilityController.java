@@ -0,0 +1,89 @@
+/**
+ * backend/src/main.java/com/example/myapp/AvailabilityController.java
+ * 
+ * accepts streaming availability changes
+ */
+
+package com.example.myapp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller for applying streaming availability deltas without a reload.
+ *
+ * Changes reach other instances only through AvailabilityLog; without
+ * movies.availability.log they stay in this instance's memory.
+ */
+@RestController
+public class AvailabilityController {
+
+    private final MovieService movieService;
+    private final AvailabilityLog availabilityLog;
+    private final String adminToken;
+
+    /**
+     * Constructor for AvailabilityController.
+     * @param movieService The service that provides movie data.
+     * @param availabilityLog The store that shares changes between instances.
+     * @param adminToken Token required in the X-Admin-Token header; empty disables the endpoint.
+     */
+    public AvailabilityController(MovieService movieService,
+                                  AvailabilityLog availabilityLog,
+                                  @Value("${movies.admin-token:}") String adminToken) {
+        this.movieService = movieService;
+        this.availabilityLog = availabilityLog;
+        this.adminToken = adminToken;
+    }
+
+    /**
+     * Applies a batch of availability changes, e.g.
+     * [{"id":123,"added":["Hulu"],"removed":["Max"]}].
+     *
+     * @param token the X-Admin-Token header.
+     * @param deltas the changes to apply, in order.
+     * @return the new catalog version and the IDs that were not found.
+     * @throws ResponseStatusException 400 if a change is null or names a blank service.
+     */
+    @PostMapping("/api/availability")
+    public ResponseEntity<Map<String, Object>> applyAvailability(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @RequestBody(required = false) List<AvailabilityDelta> deltas
+    ) throws IOException {
+        if (!authorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            AvailabilityDelta.validate(deltas);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        List<Integer> skipped = deltas.stream()
+                .map(AvailabilityDelta::getId)
+                .filter(id -> movieService.getMovieById(id) == null)
+                .collect(Collectors.toList());
+        long version = availabilityLog.apply(deltas);
+        return ResponseEntity.ok(Map.of("version", version, "skipped", skipped));
+    }
+
+    private boolean authorized(String token) {
+        if (adminToken.isEmpty() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8),
+                                     token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * backend/src/main.java/com/example/myapp/AvailabilityDelta.java
+ * 
+ * a change to one movie's streaming availability
+ */
+
+package com.example.myapp;
+
+import java.util.List;
+
+/**
+ * Model class for a streaming availability change, e.g.
+ * "movie 123 added to Hulu, removed from Max".
+ */
+public class AvailabilityDelta {
+    private int id;
+    private List<String> added;
+    private List<String> removed;
+
+    /**
+     * Creates a change for one movie.
+     * @param id movie ID.
+     * @param added services the movie was added to, or null.
+     * @param removed services the movie was removed from, or null.
+     * @return the change.
+     */
+    public static AvailabilityDelta of(int id, List<String> added, List<String> removed) {
+        AvailabilityDelta delta = new AvailabilityDelta();
+        delta.setId(id);
+        delta.setAdded(added);
+        delta.setRemoved(removed);
+        return delta;
+    }
+
+    /**
+     * Checks that a batch can be applied: the batch and its changes are not
+     * null and every service name has text in it. Unknown movie IDs are allowed
+     * and skipped when the batch is applied.
+     * @param deltas the batch to check.
+     * @throws IllegalArgumentException describing the first problem found.
+     */
+    public static void validate(List<AvailabilityDelta> deltas) {
+        if (deltas == null) {
+            throw new IllegalArgumentException("Missing list of changes");
+        }
+        for (int i = 0; i < deltas.size(); i++) {
+            AvailabilityDelta delta = deltas.get(i);
+            if (delta == null) {
+                throw new IllegalArgumentException("Change " + i + " is null");
+            }
+            checkServices(delta.getAdded(), delta, "added");
+            checkServices(delta.getRemoved(), delta, "removed");
+        }
+    }
+
+    private static void checkServices(List<String> services, AvailabilityDelta delta, String field) {
+        if (services == null) {
+            return;
+        }
+        for (String service : services) {
+            if (service == null || service.isBlank()) {
+                throw new IllegalArgumentException("Blank service in " + field + " for movie " + delta.getId());
+            }
+        }
+    }
+
+    /**
+     * Returns the ID of the movie that changed.
+     * @return movie ID.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the movie that changed.
+     * @param id movie ID.
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the services the movie was added to.
+     * @return list of streaming services.
+     */
+    public List<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * Sets the services the movie was added to.
+     * @param added list of streaming services.
+     */
+    public void setAdded(List<String> added) {
+        this.added = added;
+    }
+
+    /**
+     * Returns the services the movie was removed from.
+     * @return list of streaming services.
+     */
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Sets the services the movie was removed from.
+     * @param removed list of streaming services.
+     */
+    public void setRemoved(List<String> removed) {
+        this.removed = removed;
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * backend/src/main.java/com/example/myapp/AvailabilityLog.java
+ *
+ * durable store for streaming availability changes
+ */
+
+package com.example.myapp;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares availability changes between every instance serving the catalog.
+ *
+ * When movies.availability.log is set, each applied batch is appended to that
+ * file as one JSON line, and every instance reads the file back: in full at
+ * startup, on top of Movies2.json, and then every movies.availability.refresh-ms
+ * for lines other instances added. On Lambda the file must be on storage all
+ * containers mount, such as EFS.
+ *
+ * Deltas only say "on" or "off" per movie and service, so reapplying a line is
+ * harmless; if the file shrinks (it was replaced) it is read again from the start.
+ * Batches are validated before they are written, and a line that cannot be
+ * read or fails validation is skipped with a warning, so one bad line cannot
+ * stop instances from starting.
+ *
+ * When the property is empty, changes are applied to this instance's memory
+ * only and are lost on restart. That is only suitable for a single long-running
+ * server, not for Lambda.
+ */
+@Component
+public class AvailabilityLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityLog.class);
+
+    private final MovieService movieService;
+    private final Path path;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ScheduledExecutorService refresher;
+
+    // Bytes of the file already applied, guarded by this.
+    private long offset;
+
+    /**
+     * Constructor for AvailabilityLog. Replays the existing log, if any.
+     * @param movieService The service that provides movie data.
+     * @param path the shared log file; empty keeps changes in memory only.
+     * @param refreshMs how often to look for changes from other instances; 0 disables polling.
+     * @throws IOException if the existing log cannot be read.
+     */
+    public AvailabilityLog(MovieService movieService,
+                           @Value("${movies.availability.log:}") String path,
+                           @Value("${movies.availability.refresh-ms:5000}") long refreshMs) throws IOException {
+        this.movieService = movieService;
+        this.path = path.isEmpty() ? null : Paths.get(path);
+        if (this.path == null) {
+            refresher = null;
+            return;
+        }
+        refresh();
+        if (refreshMs > 0) {
+            refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "availability-log-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+        } else {
+            refresher = null;
+        }
+    }
+
+    /**
+     * Records a batch of changes and applies everything in the log not yet applied here.
+     * @param deltas the changes to apply, in order.
+     * @return the catalog version now being served.
+     * @throws IllegalArgumentException if the batch fails AvailabilityDelta.validate; nothing is written.
+     * @throws IOException if the batch cannot be written.
+     */
+    public synchronized long apply(List<AvailabilityDelta> deltas) throws IOException {
+        AvailabilityDelta.validate(deltas);
+        if (path == null) {
+            return movieService.applyAvailability(deltas);
+        }
+        byte[] line = (mapper.writeValueAsString(deltas) + "\n").getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+             FileLock lock = channel.lock()) {
+            channel.write(ByteBuffer.wrap(line));
+        }
+        refresh();
+        return movieService.getCatalogVersion();
+    }
+
+    /**
+     * Applies, as one batch, any complete lines added to the log since the last refresh.
+     * @throws IOException if the log cannot be read.
+     */
+    public synchronized void refresh() throws IOException {
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        List<AvailabilityDelta> pending = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < offset) {
+                log.warn("Availability log {} shrank; reading it again from the start", path);
+                offset = 0;
+            }
+            if (size == offset) {
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) (size - offset));
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+            }
+            String text = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+            // A line another instance is still writing has no newline yet; leave it for next time.
+            int end = text.lastIndexOf('\n');
+            if (end < 0) {
+                return;
+            }
+            for (String line : text.substring(0, end).split("\n")) {
+                if (!line.isBlank()) {
+                    addBatch(pending, line);
+                }
+            }
+            offset += text.substring(0, end + 1).getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (!pending.isEmpty()) {
+            movieService.applyAvailability(pending);
+        }
+    }
+
+    /**
+     * Stops polling the log.
+     */
+    @PreDestroy
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private void addBatch(List<AvailabilityDelta> pending, String line) {
+        try {
+            List<AvailabilityDelta> batch = mapper.readValue(line, new TypeReference<List<AvailabilityDelta>>() {});
+            AvailabilityDelta.validate(batch);
+            pending.addAll(batch);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Skipping bad line in availability log {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not refresh availability log {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * backend/src/main.java/com/example/myapp/CatalogRuntimeHints.java
+ * 
+ * native-image metadata for the catalog
+ */
+
+package com.example.myapp;
+
+import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
+import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Registers the reflection and resource metadata that Spring AOT cannot infer.
+ *
+ * Controller mappings and their return types are picked up by AOT on its own.
+ * Movie is also read by a plain ObjectMapper at startup, AvailabilityDelta and
+ * QueryLogEntry by the availability and query logs' own ObjectMappers, the
+ * catalog is loaded with getResourceAsStream, and the Lambda proxy models are
+ * bound by the serverless container's runtime loop, so those are listed here.
+ */
+public class CatalogRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("Movies2.json");
+
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        bindings.registerReflectionHints(hints.reflection(),
+                Movie.class, AvailabilityDelta.class, QueryLogEntry.class,
+                AwsProxyRequest.class, AwsProxyResponse.class);
+    }
+}
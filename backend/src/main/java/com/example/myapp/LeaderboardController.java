@@ -0,0 +1,85 @@
+/**
+ * backend/src/main.java/com/example/myapp/LeaderboardController.java
+ * 
+ * serves home-page carousel rows
+ */
+
+package com.example.myapp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller for precomputed leaderboard rows.
+ */
+@RestController
+public class LeaderboardController {
+
+    private final MovieService movieService;
+
+    /**
+     * Constructor for LeaderboardController.
+     * @param movieService The service that provides movie data.
+     */
+    public LeaderboardController(MovieService movieService) {
+        this.movieService = movieService;
+    }
+
+    /**
+     * Returns several leaderboard rows in one call, e.g.
+     * /api/leaderboards?row=service:Hulu&row=genre:Action,sort:popularity&row=genre:Drama,service:Max
+     *
+     * Each row param is comma-separated genre:, service: and sort: parts. sort is
+     * rating (default) or popularity; a row with neither genre nor service covers
+     * the whole catalog.
+     *
+     * @param params the query parameters; read raw so commas inside a row aren't split.
+     * @param limit (optional) movies per row (default: 20, max: 50)
+     * @return the rows in request order.
+     */
+    @GetMapping("/api/leaderboards")
+    public List<LeaderboardRow> getLeaderboards(
+            @RequestParam MultiValueMap<String, String> params,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        List<String> specs = params.getOrDefault("row", List.of());
+        if (specs.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one row is required");
+        }
+        List<LeaderboardRow> rows = new ArrayList<>(specs.size());
+        for (String spec : specs) {
+            rows.add(parse(spec));
+        }
+        return movieService.getLeaderboards(rows, Math.min(limit, Leaderboards.SIZE));
+    }
+
+    private static LeaderboardRow parse(String spec) {
+        LeaderboardRow row = new LeaderboardRow();
+        row.setSort("rating");
+        for (String part : spec.split(",")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            int colon = part.indexOf(':');
+            String name = colon > 0 ? part.substring(0, colon) : "";
+            String value = part.substring(colon + 1);
+            if (colon > 0 && value.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Empty value in row part: " + part);
+            }
+            switch (name) {
+                case "genre" -> row.setGenre(value);
+                case "service" -> row.setService(value);
+                case "sort" -> row.setSort("popularity".equalsIgnoreCase(value) ? "popularity" : "rating");
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown row part: " + part);
+            }
+        }
+        return row;
+    }
+}
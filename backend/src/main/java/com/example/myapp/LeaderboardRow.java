@@ -0,0 +1,83 @@
+/**
+ * backend/src/main.java/com/example/myapp/LeaderboardRow.java
+ * 
+ * one home-page carousel row
+ */
+
+package com.example.myapp;
+
+import java.util.List;
+
+/**
+ * Model class for one leaderboard row, e.g. "Top rated on Hulu".
+ */
+public class LeaderboardRow {
+    private String genre;
+    private String service;
+    private String sort;
+    private List<Movie> movies;
+
+    /**
+     * Returns the genre of the row.
+     * @return genre, or null for all genres.
+     */
+    public String getGenre() {
+        return genre;
+    }
+
+    /**
+     * Sets the genre of the row.
+     * @param genre genre, or null for all genres.
+     */
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
+
+    /**
+     * Returns the streaming service of the row.
+     * @return streaming service, or null for all services.
+     */
+    public String getService() {
+        return service;
+    }
+
+    /**
+     * Sets the streaming service of the row.
+     * @param service streaming service, or null for all services.
+     */
+    public void setService(String service) {
+        this.service = service;
+    }
+
+    /**
+     * Returns how the row is ranked.
+     * @return "rating" or "popularity".
+     */
+    public String getSort() {
+        return sort;
+    }
+
+    /**
+     * Sets how the row is ranked.
+     * @param sort "rating" or "popularity".
+     */
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    /**
+     * Returns the movies in the row, best first.
+     * @return list of movies.
+     */
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    /**
+     * Sets the movies in the row.
+     * @param movies list of movies.
+     */
+    public void setMovies(List<Movie> movies) {
+        this.movies = movies;
+    }
+}
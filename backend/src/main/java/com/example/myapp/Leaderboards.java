@@ -0,0 +1,152 @@
+/**
+ * backend/src/main.java/com/example/myapp/Leaderboards.java
+ *
+ * precomputed top-N rows for home-page carousels
+ */
+
+package com.example.myapp;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Top-N movie positions for every genre, every streaming service, every
+ * genre x service pair and the whole catalog, ranked by rating and by
+ * popularity.
+ *
+ * Rows are computed in parallel. Each is a scan down a catalog-wide ranking
+ * that stops once SIZE matches are found, so reading a row is a slice of a
+ * precomputed array. Rows hold positions, not Movie objects, so rows that an
+ * availability change does not affect are reused as-is by the next index.
+ */
+public class Leaderboards {
+
+    /** Number of movies kept per row. */
+    public static final int SIZE = 50;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final int[] byRating;
+    private final int[] byPopularity;
+    private final Map<Key, int[]> rows;
+
+    /**
+     * Builds every row for the given index.
+     * @param index the catalog index.
+     * @param genreBits positions by genre.
+     * @param serviceBits positions by streaming service.
+     */
+    Leaderboards(MovieIndex index, Map<String, BitSet> genreBits, Map<String, BitSet> serviceBits) {
+        List<Movie> movies = index.getMovies();
+        byRating = rank(movies, Comparator.comparingDouble(Movie::getVote_average)
+                .thenComparingDouble(Movie::getPopularity));
+        byPopularity = rank(movies, Comparator.comparingDouble(Movie::getPopularity)
+                .thenComparingDouble(Movie::getVote_average));
+
+        List<String[]> keys = new ArrayList<>();
+        keys.add(new String[] { null, null });
+        genreBits.keySet().forEach(genre -> keys.add(new String[] { genre, null }));
+        for (String service : serviceBits.keySet()) {
+            keys.add(new String[] { null, service });
+            genreBits.keySet().forEach(genre -> keys.add(new String[] { genre, service }));
+        }
+        rows = build(keys, index.all(), genreBits, serviceBits);
+    }
+
+    private Leaderboards(Leaderboards base, Map<Key, int[]> rows) {
+        this.byRating = base.byRating;
+        this.byPopularity = base.byPopularity;
+        this.rows = rows;
+    }
+
+    /**
+     * Returns leaderboards for an index whose availability changed only for
+     * the given services. Rows for other services, all genre-only rows and the
+     * catalog-wide rows are shared with this instance.
+     * @param index the new index.
+     * @param genreBits positions by genre in the new index.
+     * @param serviceBits positions by streaming service in the new index.
+     * @param changedServices services whose positions changed.
+     * @return leaderboards for the new index.
+     */
+    Leaderboards withServices(MovieIndex index, Map<String, BitSet> genreBits,
+                              Map<String, BitSet> serviceBits, Set<String> changedServices) {
+        Map<Key, int[]> next = new HashMap<>(rows);
+        next.keySet().removeIf(key -> key.service() != null && changedServices.contains(key.service()));
+
+        List<String[]> keys = new ArrayList<>();
+        for (String service : changedServices) {
+            if (serviceBits.containsKey(service)) {
+                keys.add(new String[] { null, service });
+                genreBits.keySet().forEach(genre -> keys.add(new String[] { genre, service }));
+            }
+        }
+        next.putAll(build(keys, index.all(), genreBits, serviceBits));
+        return new Leaderboards(this, next);
+    }
+
+    /**
+     * Returns the ranked positions for one row.
+     * @param genre genre name, or null for all genres.
+     * @param service streaming service, or null for all services.
+     * @param sort "popularity"; anything else ranks by rating.
+     * @return up to SIZE positions, best first; empty for an unknown genre or service.
+     */
+    int[] row(String genre, String service, String sort) {
+        return rows.getOrDefault(new Key(sortKey(sort), genre, service), EMPTY);
+    }
+
+    private Map<Key, int[]> build(List<String[]> keys, BitSet all,
+                                     Map<String, BitSet> genreBits, Map<String, BitSet> serviceBits) {
+        return keys.parallelStream()
+                .flatMap(key -> {
+                    BitSet members = (BitSet) all.clone();
+                    if (key[0] != null) {
+                        members.and(genreBits.get(key[0]));
+                    }
+                    if (key[1] != null) {
+                        members.and(serviceBits.get(key[1]));
+                    }
+                    return Stream.of(
+                            Map.entry(new Key("rating", key[0], key[1]), top(byRating, members)),
+                            Map.entry(new Key("popularity", key[0], key[1]), top(byPopularity, members)));
+                })
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private static int[] top(int[] ranking, BitSet members) {
+        int[] top = new int[Math.min(SIZE, members.cardinality())];
+        int found = 0;
+        for (int i = 0; i < ranking.length && found < top.length; i++) {
+            if (members.get(ranking[i])) {
+                top[found++] = ranking[i];
+            }
+        }
+        return top;
+    }
+
+    // Positions sorted best first by the given comparator.
+    private static int[] rank(List<Movie> movies, Comparator<Movie> comparator) {
+        return IntStream.range(0, movies.size()).boxed()
+                .sorted((a, b) -> comparator.compare(movies.get(b), movies.get(a)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static String sortKey(String sort) {
+        return "popularity".equalsIgnoreCase(sort) ? "popularity" : "rating";
+    }
+
+    // A null genre or service means the row covers all of them, so it never
+    // collides with a genre or service whose name happens to be empty.
+    private record Key(String sort, String genre, String service) {
+    }
+}
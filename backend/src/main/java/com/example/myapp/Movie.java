@@ -31,6 +31,34 @@ public class Movie {
     // Transient relevance score used only for search ranking.
     private transient double relevanceScore;
 
+    /**
+     * Creates an empty movie; used by Jackson when loading the catalog.
+     */
+    public Movie() {
+    }
+
+    /**
+     * Creates a shallow copy of another movie.
+     * @param other the movie to copy.
+     */
+    public Movie(Movie other) {
+        this.id = other.id;
+        this.language = other.language;
+        this.title = other.title;
+        this.overview = other.overview;
+        this.vote_average = other.vote_average;
+        this.popularity = other.popularity;
+        this.release_date = other.release_date;
+        this.poster_path = other.poster_path;
+        this.keywords = other.keywords;
+        this.runtime = other.runtime;
+        this.genres = other.genres;
+        this.cast = other.cast;
+        this.director = other.director;
+        this.studio = other.studio;
+        this.streaming_services = other.streaming_services;
+    }
+
     /**
      * Returns the movie ID.
      * @return movie ID.
@@ -12,7 +12,9 @@
  import org.springframework.web.bind.annotation.RestController;
  import org.springframework.web.bind.annotation.RequestParam;
  
+ import java.util.LinkedHashMap;
  import java.util.List;
+ import java.util.Map;
  
  /**
   * REST controller for movie-related endpoints.
@@ -22,13 +24,16 @@
  public class MovieController {
  
      private final MovieService movieService;
+     private final QueryLog queryLog;
  
      /**
       * Constructor for MovieController.
       * @param movieService The service that provides movie data.
+      * @param queryLog Optional capture of search and filter queries.
       */
-     public MovieController(MovieService movieService) {
+     public MovieController(MovieService movieService, QueryLog queryLog) {
          this.movieService = movieService;
+         this.queryLog = queryLog;
      }
  
      /**
@@ -66,6 +71,10 @@
      * @param genres (optional) comma-separated genres
      * @param min (optional) minimum vote_average (default: 0)
      * @param max (optional) maximum vote_average (default: 10)
+     * @param yearFrom (optional) first release year, inclusive
+     * @param yearTo (optional) last release year, inclusive
+     * @param minRuntime (optional) minimum runtime in minutes, inclusive
+     * @param maxRuntime (optional) maximum runtime in minutes, inclusive
      * @param sort (optional) sort option: alphabetical, rating, or popularity (default: alphabetical)
      * @return List of filtered and sorted movies.
      */
@@ -75,9 +84,29 @@
             @RequestParam(required = false) String genres,
             @RequestParam(defaultValue = "0") double min,
             @RequestParam(defaultValue = "10") double max,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) Integer minRuntime,
+            @RequestParam(required = false) Integer maxRuntime,
             @RequestParam(defaultValue = "alphabetical") String sort
     ) {
-        return movieService.getFilteredMovies(services, genres, min, max, sort);
+        long start = System.nanoTime();
+        List<Movie> result = movieService.getFilteredMovies(services, genres, min, max,
+                yearFrom, yearTo, minRuntime, maxRuntime, sort);
+        if (queryLog.isEnabled()) {
+            Map<String, String> params = new LinkedHashMap<>();
+            putIfPresent(params, "services", services);
+            putIfPresent(params, "genres", genres);
+            params.put("min", String.valueOf(min));
+            params.put("max", String.valueOf(max));
+            putIfPresent(params, "yearFrom", yearFrom);
+            putIfPresent(params, "yearTo", yearTo);
+            putIfPresent(params, "minRuntime", minRuntime);
+            putIfPresent(params, "maxRuntime", maxRuntime);
+            params.put("sort", sort);
+            queryLog.record("filtered", params, result.size(), System.nanoTime() - start);
+        }
+        return result;
     }
 
     /**
@@ -88,6 +117,17 @@
      */
     @GetMapping("/api/movies/search")
     public List<Movie> searchMovies(@RequestParam("q") String query) {
-        return movieService.searchMovies(query);
+        long start = System.nanoTime();
+        List<Movie> result = movieService.searchMovies(query);
+        if (queryLog.isEnabled()) {
+            queryLog.record("search", Map.of("q", query), result.size(), System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    private static void putIfPresent(Map<String, String> params, String name, Object value) {
+        if (value != null) {
+            params.put(name, value.toString());
+        }
     }
  }
\ No newline at end of file
@@ -0,0 +1,400 @@
+/**
+ * backend/src/main.java/com/example/myapp/MovieIndex.java
+ *
+ * precomputed filter indexes over the movie catalog
+ */
+
+package com.example.myapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Filter indexes built once over a loaded catalog.
+ *
+ * Each movie is identified by its position in the catalog list. Streaming
+ * services and genres map to a BitSet of positions; rating, release year and
+ * runtime are kept as sorted primitive arrays so a range becomes two binary
+ * searches. Every filter yields a BitSet, so combining them is a cheap AND.
+ *
+ * An index is never modified once built. Availability changes produce a new
+ * index that shares every structure the change did not touch.
+ *
+ * Each index also carries the Leaderboards for its catalog version.
+ */
+public class MovieIndex {
+
+    private final long version;
+    private final List<Movie> movies;
+    private final Map<Integer, Integer> positionsById;
+    private final Map<String, BitSet> serviceBits;
+    private final Map<String, BitSet> genreBits;
+    private final List<String> streamingServices;
+    private final RangeIndex ratingIndex;
+    private final RangeIndex yearIndex;
+    private final RangeIndex runtimeIndex;
+    private final Leaderboards leaderboards;
+
+    /**
+     * Builds all indexes for the given catalog.
+     * @param movies the loaded catalog; positions in this list identify movies.
+     */
+    public MovieIndex(List<Movie> movies) {
+        this.version = 1;
+        this.movies = movies;
+        this.positionsById = new HashMap<>();
+        this.serviceBits = new HashMap<>();
+        this.genreBits = new HashMap<>();
+        int n = movies.size();
+        double[] ratings = new double[n];
+        double[] years = new double[n];
+        double[] runtimes = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            Movie movie = movies.get(i);
+            positionsById.put(movie.getId(), i);
+            addAll(serviceBits, movie.getStreaming_services(), i);
+            addAll(genreBits, movie.getGenres(), i);
+            ratings[i] = movie.getVote_average();
+            // release_date is parsed here once; unknown years and runtimes are left out of their index.
+            int year = parseYear(movie.getRelease_date());
+            years[i] = year > 0 ? year : Double.NaN;
+            runtimes[i] = movie.getRuntime() > 0 ? movie.getRuntime() : Double.NaN;
+        }
+
+        streamingServices = facet(serviceBits);
+        ratingIndex = new RangeIndex(ratings);
+        yearIndex = new RangeIndex(years);
+        runtimeIndex = new RangeIndex(runtimes);
+        leaderboards = new Leaderboards(this, genreBits, serviceBits);
+    }
+
+    private MovieIndex(MovieIndex base, List<Movie> movies, Map<String, BitSet> serviceBits,
+                       Set<String> changedServices) {
+        this.version = base.version + 1;
+        this.movies = movies;
+        this.positionsById = base.positionsById;
+        this.serviceBits = serviceBits;
+        this.genreBits = base.genreBits;
+        this.streamingServices = facet(serviceBits);
+        this.ratingIndex = base.ratingIndex;
+        this.yearIndex = base.yearIndex;
+        this.runtimeIndex = base.runtimeIndex;
+        this.leaderboards = base.leaderboards.withServices(this, genreBits, serviceBits, changedServices);
+    }
+
+    /**
+     * Returns a new index with the given availability changes applied.
+     *
+     * Only the changed movies and the BitSets of the services they touch are
+     * copied; everything else is shared with this index. Deltas for unknown
+     * movie IDs are skipped.
+     *
+     * @param deltas the changes to apply, in order.
+     * @return the next version of the index.
+     */
+    public MovieIndex withAvailability(List<AvailabilityDelta> deltas) {
+        List<Movie> nextMovies = new ArrayList<>(movies);
+        Map<String, BitSet> nextServiceBits = new HashMap<>(serviceBits);
+        Set<String> copiedServices = new HashSet<>();
+
+        for (AvailabilityDelta delta : deltas) {
+            Integer position = positionsById.get(delta.getId());
+            if (position == null) {
+                continue;
+            }
+            Movie current = nextMovies.get(position);
+            Set<String> services = new LinkedHashSet<>();
+            if (current.getStreaming_services() != null) {
+                services.addAll(current.getStreaming_services());
+            }
+            if (delta.getRemoved() != null) {
+                for (String service : delta.getRemoved()) {
+                    if (services.remove(service)) {
+                        writableBits(nextServiceBits, copiedServices, service).clear(position);
+                    }
+                }
+            }
+            if (delta.getAdded() != null) {
+                for (String service : delta.getAdded()) {
+                    if (services.add(service)) {
+                        writableBits(nextServiceBits, copiedServices, service).set(position);
+                    }
+                }
+            }
+            Movie updated = new Movie(current);
+            updated.setStreaming_services(new ArrayList<>(services));
+            nextMovies.set(position, updated);
+        }
+        nextServiceBits.values().removeIf(BitSet::isEmpty);
+        return new MovieIndex(this, nextMovies, nextServiceBits, copiedServices);
+    }
+
+    /**
+     * Returns the version of this index. The initial load is version 1 and
+     * every applied batch of availability changes adds one.
+     * @return index version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the catalog this index was built over.
+     * @return list of movies by position.
+     */
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    /**
+     * Looks up a movie by its ID.
+     * @param id the movie ID.
+     * @return the movie, or null if it is not in the catalog.
+     */
+    public Movie getById(int id) {
+        Integer position = positionsById.get(id);
+        return position != null ? movies.get(position) : null;
+    }
+
+    /**
+     * Returns the distinct streaming services offered by at least one movie.
+     * @return service names sorted case-insensitively.
+     */
+    public List<String> getStreamingServices() {
+        return streamingServices;
+    }
+
+    /**
+     * Returns the top movies for one leaderboard row.
+     * @param genre genre name, or null for all genres.
+     * @param service streaming service, or null for all services.
+     * @param sort "popularity"; anything else ranks by rating.
+     * @param limit maximum number of movies, capped at Leaderboards.SIZE.
+     * @return the best movies first; empty for an unknown genre or service.
+     */
+    public List<Movie> leaderboard(String genre, String service, String sort, int limit) {
+        int[] row = leaderboards.row(genre, service, sort);
+        int count = Math.min(Math.max(limit, 0), row.length);
+        List<Movie> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(movies.get(row[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the leaderboards for this version of the catalog.
+     * @return precomputed leaderboard rows.
+     */
+    Leaderboards getLeaderboards() {
+        return leaderboards;
+    }
+
+    /**
+     * Returns the positions of movies on at least one of the given services.
+     * @param services service names; null means no restriction and an empty list matches nothing.
+     * @return matching positions.
+     */
+    public BitSet withAnyService(List<String> services) {
+        return union(serviceBits, services);
+    }
+
+    /**
+     * Returns the positions of movies with at least one of the given genres.
+     * @param genres genre names; null means no restriction and an empty list matches nothing.
+     * @return matching positions.
+     */
+    public BitSet withAnyGenre(List<String> genres) {
+        return union(genreBits, genres);
+    }
+
+    /**
+     * Returns the positions of movies whose vote_average is within [min, max].
+     * @param min minimum rating.
+     * @param max maximum rating.
+     * @return matching positions.
+     */
+    public BitSet ratingBetween(double min, double max) {
+        return ratingIndex.between(min, max);
+    }
+
+    /**
+     * Returns whether a rating range leaves out any movie, so callers can skip
+     * ratingBetween for the default 0 to 10 range.
+     * @param min minimum rating.
+     * @param max maximum rating.
+     * @return false if every movie's vote_average is within [min, max].
+     */
+    public boolean ratingExcludesAny(double min, double max) {
+        return !ratingIndex.covers(min, max, movies.size());
+    }
+
+    /**
+     * Returns the positions of movies released within [from, to].
+     * Movies without a parseable release_date never match.
+     * @param from first year, or null for no lower bound.
+     * @param to last year, or null for no upper bound.
+     * @return matching positions.
+     */
+    public BitSet yearBetween(Integer from, Integer to) {
+        return yearIndex.between(from != null ? from : Double.NEGATIVE_INFINITY,
+                                 to != null ? to : Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns the positions of movies whose runtime is within [min, max] minutes.
+     * Movies without a runtime never match.
+     * @param min minimum runtime, or null for no lower bound.
+     * @param max maximum runtime, or null for no upper bound.
+     * @return matching positions.
+     */
+    public BitSet runtimeBetween(Integer min, Integer max) {
+        return runtimeIndex.between(min != null ? min : Double.NEGATIVE_INFINITY,
+                                    max != null ? max : Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Collects the movies at the given positions, in catalog order.
+     * @param positions positions to collect.
+     * @return a new mutable list of movies.
+     */
+    public List<Movie> collect(BitSet positions) {
+        List<Movie> result = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            result.add(movies.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a BitSet with every position set.
+     * @return all positions.
+     */
+    public BitSet all() {
+        BitSet bits = new BitSet(movies.size());
+        bits.set(0, movies.size());
+        return bits;
+    }
+
+    /**
+     * Extracts the year from a "YYYY-MM-DD" release date.
+     * @param releaseDate the release date string.
+     * @return the year, or 0 if it cannot be parsed.
+     */
+    static int parseYear(String releaseDate) {
+        if (releaseDate == null || releaseDate.length() < 4) {
+            return 0;
+        }
+        int year = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = releaseDate.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            year = year * 10 + (c - '0');
+        }
+        return year;
+    }
+
+    private static void addAll(Map<String, BitSet> bitsByKey, List<String> keys, int position) {
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            bitsByKey.computeIfAbsent(key, k -> new BitSet()).set(position);
+        }
+    }
+
+    private static BitSet writableBits(Map<String, BitSet> bitsByKey, Set<String> copied, String key) {
+        if (copied.add(key)) {
+            BitSet shared = bitsByKey.get(key);
+            bitsByKey.put(key, shared != null ? (BitSet) shared.clone() : new BitSet());
+        }
+        return bitsByKey.get(key);
+    }
+
+    private static List<String> facet(Map<String, BitSet> bitsByKey) {
+        return bitsByKey.keySet().stream()
+                .sorted(String::compareToIgnoreCase)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private BitSet union(Map<String, BitSet> bitsByKey, List<String> keys) {
+        if (keys == null) {
+            return all();
+        }
+        BitSet result = new BitSet(movies.size());
+        for (String key : keys) {
+            BitSet bits = bitsByKey.get(key);
+            if (bits != null) {
+                result.or(bits);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Positions sorted by a numeric key. NaN keys are dropped.
+     */
+    private static final class RangeIndex {
+        private final double[] keys;
+        private final int[] positions;
+
+        RangeIndex(double[] values) {
+            Integer[] order = new Integer[values.length];
+            int count = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (!Double.isNaN(values[i])) {
+                    order[count++] = i;
+                }
+            }
+            Arrays.sort(order, 0, count, (a, b) -> Double.compare(values[a], values[b]));
+            keys = new double[count];
+            positions = new int[count];
+            for (int i = 0; i < count; i++) {
+                positions[i] = order[i];
+                keys[i] = values[order[i]];
+            }
+        }
+
+        BitSet between(double min, double max) {
+            BitSet bits = new BitSet();
+            for (int i = lowerBound(min); i < keys.length && keys[i] <= max; i++) {
+                bits.set(positions[i]);
+            }
+            return bits;
+        }
+
+        // True if all size positions have a key and every key is within [min, max].
+        boolean covers(double min, double max, int size) {
+            if (keys.length < size) {
+                return false;
+            }
+            return keys.length == 0 || (min <= keys[0] && keys[keys.length - 1] <= max);
+        }
+
+        // First index whose key is >= value.
+        private int lowerBound(double value) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] < value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -13,10 +13,10 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -25,7 +25,8 @@ import java.util.Set;
 @Service
 public class MovieService {
 
-    private List<Movie> movies;
+    // Readers take one snapshot per request; writers swap in a new index.
+    private volatile MovieIndex index;
 
     /**
      * Constructor that loads movies from the JSON file.
@@ -45,7 +46,8 @@ public class MovieService {
             throw new IllegalStateException("Movies2.json not found in the classpath. Please place it in src/main/resources.");
         }
         try {
-            movies = mapper.readValue(inputStream, typeRef);
+            List<Movie> movies = mapper.readValue(inputStream, typeRef);
+            index = new MovieIndex(movies);
         } catch (IOException e) {
             e.printStackTrace();
             throw new RuntimeException("Failed to load movie data", e);
@@ -57,7 +59,7 @@ public class MovieService {
       * @return List of movies sorted from A to Z.
       */
       public List<Movie> getAllMovies() {
-        return movies.stream()
+        return index.getMovies().stream()
                 .sorted(Comparator.comparing(Movie::getTitle))
                 .collect(Collectors.toList());
     }
@@ -68,10 +70,7 @@ public class MovieService {
      * @return The movie if found; otherwise, null.
      */
     public Movie getMovieById(int id) {
-        Optional<Movie> result = movies.stream()
-                .filter(movie -> movie.getId() == id)
-                .findFirst();
-        return result.orElse(null);
+        return index.getById(id);
     }
 
     /**
@@ -79,52 +78,95 @@ public class MovieService {
       * @return List of distinct streaming service names.
       */
       public List<String> getStreamingServices() {
-        return movies.stream()
-                .flatMap(movie -> movie.getStreaming_services().stream())
-                .distinct()
-                .sorted(String::compareToIgnoreCase)
-                .collect(Collectors.toList());
+        return index.getStreamingServices();
     }
 
     /**
-     * Returns a list of movies filtered by streaming services, genres, and rating range,
-     * then sorted by the given sort option.
+     * Applies a batch of streaming availability changes.
+     *
+     * The changes are applied to a copy-on-write index and published in one
+     * step, so a request sees either all of the batch or none of it.
+     *
+     * @param deltas the availability changes, applied in order.
+     * @return the index version after the batch.
+     */
+    public synchronized long applyAvailability(List<AvailabilityDelta> deltas) {
+        index = index.withAvailability(deltas);
+        return index.getVersion();
+    }
+
+    /**
+     * Returns the version of the catalog currently being served.
+     * @return catalog version.
+     */
+    public long getCatalogVersion() {
+        return index.getVersion();
+    }
+
+    /**
+     * Returns a list of movies filtered by streaming services, genres, rating range,
+     * release year and runtime, then sorted by the given sort option.
      *
      * Filtering logic:
      *   (movie.streaming_service is in (service1 OR service2 OR ...))
      *   AND (movie.genres contains at least one of (genre1 OR genre2 OR ...))
      *   AND (movie.vote_average is between minRating and maxRating)
+     *   AND (release year is between yearFrom and yearTo, if either is given)
+     *   AND (movie.runtime is between minRuntime and maxRuntime, if either is given)
+     *
+     * Each clause is answered from the precomputed MovieIndex and the results are ANDed.
+     * A services or genres value with no names in it, such as ",", matches nothing.
      *
      * @param services a comma-separated list of streaming services (e.g., "Hulu,Max")
      * @param genres a comma-separated list of genres (e.g., "Action,War")
      * @param minRating the minimum vote_average
      * @param maxRating the maximum vote_average
+     * @param yearFrom the first release year, or null
+     * @param yearTo the last release year, or null
+     * @param minRuntime the minimum runtime in minutes, or null
+     * @param maxRuntime the maximum runtime in minutes, or null
      * @param sortOption the sort order: "alphabetical", "rating", or "popularity"
      * @return a list of filtered and sorted movies.
      */
-    public List<Movie> getFilteredMovies(String services, String genres, double minRating, double maxRating, String sortOption) {
-        List<Movie> filtered = movies.stream()
-            // Filter by streaming services
-            .filter(movie -> {
-                if (services != null && !services.isEmpty()) {
-                    List<String> svcFilter = Arrays.asList(services.split(","));
-                    return movie.getStreaming_services().stream().anyMatch(svcFilter::contains);
-                }
-                return true;
-            })
-            // Filter by genres (at least one match)
-            .filter(movie -> {
-                if (genres != null && !genres.isEmpty()) {
-                    List<String> genreFilter = Arrays.asList(genres.split(","));
-                    return movie.getGenres().stream().anyMatch(genreFilter::contains);
-                }
-                return true;
-            })
-            // Filter by rating (vote_average)
-            .filter(movie -> movie.getVote_average() >= minRating && movie.getVote_average() <= maxRating)
-            .collect(Collectors.toList());
-        
-        return sortMovies(filtered, sortOption);
+    public List<Movie> getFilteredMovies(String services, String genres, double minRating, double maxRating,
+                                         Integer yearFrom, Integer yearTo, Integer minRuntime, Integer maxRuntime,
+                                         String sortOption) {
+        MovieIndex index = this.index;
+        BitSet matches = index.all();
+        if (index.ratingExcludesAny(minRating, maxRating)) {
+            matches.and(index.ratingBetween(minRating, maxRating));
+        }
+        if (services != null && !services.isEmpty()) {
+            matches.and(index.withAnyService(Arrays.asList(services.split(","))));
+        }
+        if (genres != null && !genres.isEmpty()) {
+            matches.and(index.withAnyGenre(Arrays.asList(genres.split(","))));
+        }
+        if (yearFrom != null || yearTo != null) {
+            matches.and(index.yearBetween(yearFrom, yearTo));
+        }
+        if (minRuntime != null || maxRuntime != null) {
+            matches.and(index.runtimeBetween(minRuntime, maxRuntime));
+        }
+        return sortMovies(index.collect(matches), sortOption);
+    }
+
+    /**
+     * Fills in the movies for each requested leaderboard row.
+     *
+     * Rows are precomputed per catalog version, so each one is a slice of a
+     * ranked array. All rows are read from the same version.
+     *
+     * @param rows the rows to fill, each with a genre and/or service (either may be null) and a sort.
+     * @param limit the number of movies per row, at most Leaderboards.SIZE.
+     * @return the same rows, with movies set.
+     */
+    public List<LeaderboardRow> getLeaderboards(List<LeaderboardRow> rows, int limit) {
+        MovieIndex index = this.index;
+        for (LeaderboardRow row : rows) {
+            row.setMovies(index.leaderboard(row.getGenre(), row.getService(), row.getSort(), limit));
+        }
+        return rows;
     }
 
     /**
@@ -165,7 +207,7 @@ public class MovieService {
         // Split the query into tokens.
         String[] tokens = query.toLowerCase().split("\\s+");
         // Compute relevance score for each movie.
-        List<Movie> scored = movies.stream().map(movie -> {
+        List<Movie> scored = index.getMovies().stream().map(movie -> {
             double score = 0;
             String title = movie.getTitle() != null ? movie.getTitle().toLowerCase() : "";
             String overview = movie.getOverview() != null ? movie.getOverview().toLowerCase() : "";
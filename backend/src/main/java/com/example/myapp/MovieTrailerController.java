@@ -6,35 +6,51 @@
 
 package com.example.myapp;
 
-import java.io.IOException;
+import java.net.SocketTimeoutException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.jsoup.Jsoup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/movies")
 public class MovieTrailerController {
 
     private final MovieService movieService;
+    private final TrailerBulkhead bulkhead;
+    private final String searchUrl;
+    private final int timeoutMs;
 
-    public MovieTrailerController(MovieService movieService) {
+    public MovieTrailerController(MovieService movieService,
+                                  TrailerBulkhead bulkhead,
+                                  @Value("${trailer.search-url:https://www.youtube.com/results?search_query=}") String searchUrl,
+                                  @Value("${trailer.timeout-ms:3000}") int timeoutMs) {
         this.movieService = movieService;
+        this.bulkhead = bulkhead;
+        this.searchUrl = searchUrl;
+        this.timeoutMs = timeoutMs;
     }
 
     /**
      * Proxies a YouTube search for "<title> <year> trailer" and returns the first videoId.
+     *
+     * The upstream call runs through TrailerBulkhead: a shed request gets a 503,
+     * an upstream timeout a 504 and any other upstream failure a 502.
      */
     @GetMapping("/{id}/trailer")
-    public Map<String,String> getTrailer(@PathVariable int id) throws IOException {
+    public Map<String,String> getTrailer(@PathVariable int id) {
         // **Use your service’s lookup method here**
         Movie movie = movieService.getMovieById(id);
         String year = "";
@@ -46,14 +62,24 @@ public class MovieTrailerController {
             movie.getTitle() + " " + year + " trailer",
             StandardCharsets.UTF_8
         );
-        String youtubeSearchUrl = "https://www.youtube.com/results?search_query=" + query;
+        String youtubeSearchUrl = searchUrl + query;
 
         // Fetch the raw HTML as text
-        String html = Jsoup.connect(youtubeSearchUrl)
-                           .userAgent("Mozilla/5.0")
-                           .ignoreContentType(true)
-                           .execute()
-                           .body();
+        String html;
+        try {
+            html = bulkhead.call(() -> Jsoup.connect(youtubeSearchUrl)
+                                            .userAgent("Mozilla/5.0")
+                                            .ignoreContentType(true)
+                                            .timeout(timeoutMs)
+                                            .execute()
+                                            .body());
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        } catch (SocketTimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Trailer search timed out", e);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Trailer search failed", e);
+        }
 
         // Find the very first "videoId":"XXXXXXXXXXX" in the HTML
         Matcher m = Pattern.compile("\"videoId\":\"([^\"]+)\"").matcher(html);
@@ -0,0 +1,190 @@
+/**
+ * backend/src/main.java/com/example/myapp/QueryLog.java
+ *
+ * optional capture of search and filter queries
+ */
+
+package com.example.myapp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends catalog queries to a JSON-lines file for offline replay (see QueryReplay).
+ *
+ * Disabled unless querylog.enabled=true. Request threads only offer an entry to
+ * a bounded queue; a background thread writes and flushes it. When the queue
+ * is full, entries are dropped and counted rather than slowing the request.
+ *
+ * A batch that cannot be written is dropped and counted too, and the file is
+ * reopened before the next batch, so a full disk or a removed directory only
+ * loses the queries captured while the problem lasts.
+ */
+@Component
+public class QueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryLog.class);
+
+    private final boolean enabled;
+    private final Path path;
+    private final BlockingQueue<QueryLogEntry> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Only touched by the writer thread, and by close() once it has stopped.
+    private BufferedWriter out;
+    private long reportedDropped;
+
+    /**
+     * Constructor for QueryLog. The file is opened by the writer thread.
+     * @param enabled whether queries are captured.
+     * @param path file the log is appended to.
+     * @param capacity maximum entries waiting to be written.
+     */
+    public QueryLog(@Value("${querylog.enabled:false}") boolean enabled,
+                    @Value("${querylog.path:query-log.jsonl}") String path,
+                    @Value("${querylog.capacity:10000}") int capacity) {
+        this.enabled = enabled;
+        this.path = Paths.get(path);
+        if (!enabled) {
+            queue = null;
+            writer = null;
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        writer = new Thread(this::drain, "query-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Returns whether queries are being captured.
+     * @return true if enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns how many entries were dropped, because the queue was full or
+     * because they could not be written.
+     * @return dropped entry count.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Queues a query for writing. Never blocks.
+     * @param endpoint "search" or "filtered".
+     * @param params the request parameters that were given.
+     * @param resultCount number of movies returned.
+     * @param latencyNanos time spent in MovieService.
+     */
+    public void record(String endpoint, Map<String, String> params, int resultCount, long latencyNanos) {
+        if (!enabled) {
+            return;
+        }
+        QueryLogEntry entry = new QueryLogEntry();
+        entry.setTimestamp(System.currentTimeMillis());
+        entry.setEndpoint(endpoint);
+        entry.setParams(params);
+        entry.setResultCount(resultCount);
+        entry.setLatencyMicros(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes any queued entries and closes the log file.
+     */
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        writer.join(5000);
+        if (out != null) {
+            out.close();
+        }
+    }
+
+    private void drain() {
+        List<QueryLogEntry> batch = new ArrayList<>();
+        try {
+            while (running || !queue.isEmpty()) {
+                QueryLogEntry first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                    write(batch);
+                    batch.clear();
+                }
+                reportDropped();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<QueryLogEntry> batch) {
+        try {
+            if (out == null) {
+                out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (QueryLogEntry entry : batch) {
+                out.write(mapper.writeValueAsString(entry));
+                out.newLine();
+            }
+            out.flush();
+        } catch (IOException e) {
+            dropped.addAndGet(batch.size());
+            log.warn("Could not write {} queries to {}; reopening it for the next batch", batch.size(), path, e);
+            closeQuietly();
+        }
+    }
+
+    private void closeQuietly() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            // Whatever was still buffered is already counted as dropped.
+        }
+        out = null;
+    }
+
+    private void reportDropped() {
+        long total = dropped.get();
+        if (total != reportedDropped) {
+            log.warn("{} queries dropped from {} so far", total, path);
+            reportedDropped = total;
+        }
+    }
+}
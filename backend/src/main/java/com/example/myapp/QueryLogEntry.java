@@ -0,0 +1,100 @@
+/**
+ * backend/src/main.java/com/example/myapp/QueryLogEntry.java
+ * 
+ * one captured catalog query
+ */
+
+package com.example.myapp;
+
+import java.util.Map;
+
+/**
+ * Model class for one line of the query log.
+ */
+public class QueryLogEntry {
+    private long timestamp;
+    private String endpoint;
+    private Map<String, String> params;
+    private int resultCount;
+    private long latencyMicros;
+
+    /**
+     * Returns when the query was served.
+     * @return epoch milliseconds.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Sets when the query was served.
+     * @param timestamp epoch milliseconds.
+     */
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Returns the endpoint that served the query.
+     * @return "search" or "filtered".
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Sets the endpoint that served the query.
+     * @param endpoint "search" or "filtered".
+     */
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Returns the request parameters that were given.
+     * @return parameter names to values.
+     */
+    public Map<String, String> getParams() {
+        return params;
+    }
+
+    /**
+     * Sets the request parameters that were given.
+     * @param params parameter names to values.
+     */
+    public void setParams(Map<String, String> params) {
+        this.params = params;
+    }
+
+    /**
+     * Returns the number of movies returned.
+     * @return result count.
+     */
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    /**
+     * Sets the number of movies returned.
+     * @param resultCount result count.
+     */
+    public void setResultCount(int resultCount) {
+        this.resultCount = resultCount;
+    }
+
+    /**
+     * Returns the time spent in MovieService.
+     * @return latency in microseconds.
+     */
+    public long getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    /**
+     * Sets the time spent in MovieService.
+     * @param latencyMicros latency in microseconds.
+     */
+    public void setLatencyMicros(long latencyMicros) {
+        this.latencyMicros = latencyMicros;
+    }
+}
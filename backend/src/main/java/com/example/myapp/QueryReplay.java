@@ -0,0 +1,209 @@
+/**
+ * backend/src/main.java/com/example/myapp/QueryReplay.java
+ *
+ * replays a captured query log and reports latency and result diffs
+ */
+
+package com.example.myapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Command-line tool that replays a QueryLog file.
+ *
+ * Usage (from the packaged jar):
+ *   java -Dloader.main=com.example.myapp.QueryReplay -jar target/demo-0.0.1-SNAPSHOT.jar \
+ *       query-log.jsonl [--url http://localhost:8080] [--warmup N] [--out results.jsonl] [--baseline results.jsonl]
+ *
+ * Without --url the queries run in-process against a fresh MovieService.
+ * Latency percentiles are printed per endpoint. --out saves the returned movie
+ * IDs of every query; --baseline compares this run's IDs against a file saved
+ * by an earlier build and prints the queries whose results differ.
+ */
+public class QueryReplay {
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  private final MovieService movieService;
+  private final HttpClient client;
+  private final String baseUrl;
+
+  private QueryReplay(String baseUrl) {
+    this.baseUrl = baseUrl;
+    this.client = baseUrl != null ? HttpClient.newHttpClient() : null;
+    this.movieService = baseUrl == null ? new MovieService() : null;
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length == 0) {
+      System.err.println("usage: QueryReplay <query-log.jsonl> [--url URL] [--warmup N] [--out FILE] [--baseline FILE]");
+      System.exit(2);
+    }
+    replay(args, System.out);
+  }
+
+  /**
+   * Runs one replay with the same arguments as main.
+   * @param args the log file followed by options.
+   * @param out where the report is printed.
+   * @throws Exception if a file cannot be read or written, or a query fails;
+   *     with --url, any response other than 200 fails the replay.
+   */
+  static void replay(String[] args, PrintStream out) throws Exception {
+    String logFile = args[0];
+    String url = null;
+    String outFile = null;
+    String baselineFile = null;
+    int warmup = 0;
+    for (int i = 1; i < args.length; i += 2) {
+      switch (args[i]) {
+        case "--url" -> url = args[i + 1];
+        case "--out" -> outFile = args[i + 1];
+        case "--baseline" -> baselineFile = args[i + 1];
+        case "--warmup" -> warmup = Integer.parseInt(args[i + 1]);
+        default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+      }
+    }
+
+    List<QueryLogEntry> entries = new ArrayList<>();
+    try (BufferedReader in = Files.newBufferedReader(Paths.get(logFile), StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = in.readLine()) != null) {
+        if (!line.isBlank()) {
+          entries.add(mapper.readValue(line, QueryLogEntry.class));
+        }
+      }
+    }
+
+    QueryReplay replay = new QueryReplay(url);
+    for (int pass = 0; pass < warmup; pass++) {
+      for (QueryLogEntry entry : entries) {
+        replay.run(entry);
+      }
+    }
+
+    Map<String, List<Long>> latencies = new TreeMap<>();
+    List<List<Integer>> results = new ArrayList<>(entries.size());
+    for (QueryLogEntry entry : entries) {
+      long start = System.nanoTime();
+      List<Integer> ids = replay.run(entry);
+      long micros = (System.nanoTime() - start) / 1_000;
+      latencies.computeIfAbsent(entry.getEndpoint(), k -> new ArrayList<>()).add(micros);
+      results.add(ids);
+    }
+
+    out.printf("Replayed %d queries %s%n", entries.size(), url != null ? "against " + url : "in-process");
+    for (Map.Entry<String, List<Long>> e : latencies.entrySet()) {
+      long[] sorted = e.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+      out.printf("  %-9s n=%-6d p50=%dus p90=%dus p99=%dus max=%dus%n", e.getKey(), sorted.length,
+          percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), sorted[sorted.length - 1]);
+    }
+
+    if (outFile != null) {
+      try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(outFile), StandardCharsets.UTF_8)) {
+        for (List<Integer> ids : results) {
+          writer.write(mapper.writeValueAsString(ids));
+          writer.newLine();
+        }
+      }
+    }
+    if (baselineFile != null) {
+      diff(entries, results, Files.readAllLines(Paths.get(baselineFile), StandardCharsets.UTF_8), out);
+    }
+  }
+
+  private List<Integer> run(QueryLogEntry entry) throws IOException, InterruptedException {
+    Map<String, String> params = entry.getParams();
+    if (client != null) {
+      String path = "search".equals(entry.getEndpoint()) ? "/api/movies/search" : "/api/movies/filtered";
+      String query = params.entrySet().stream()
+          .map(p -> p.getKey() + "=" + URLEncoder.encode(p.getValue(), StandardCharsets.UTF_8))
+          .collect(Collectors.joining("&"));
+      URI uri = URI.create(baseUrl + path + "?" + query);
+      HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).build(),
+          HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != 200) {
+        throw new IOException("HTTP " + response.statusCode() + " for " + uri);
+      }
+      List<Integer> ids = new ArrayList<>();
+      for (JsonNode movie : mapper.readTree(response.body())) {
+        ids.add(movie.get("id").asInt());
+      }
+      return ids;
+    }
+
+    List<Movie> movies;
+    if ("search".equals(entry.getEndpoint())) {
+      movies = movieService.searchMovies(params.get("q"));
+    } else {
+      movies = movieService.getFilteredMovies(
+          params.get("services"),
+          params.get("genres"),
+          Double.parseDouble(params.getOrDefault("min", "0")),
+          Double.parseDouble(params.getOrDefault("max", "10")),
+          intOrNull(params.get("yearFrom")),
+          intOrNull(params.get("yearTo")),
+          intOrNull(params.get("minRuntime")),
+          intOrNull(params.get("maxRuntime")),
+          params.getOrDefault("sort", "alphabetical"));
+    }
+    return movies.stream().map(Movie::getId).collect(Collectors.toList());
+  }
+
+  private static void diff(List<QueryLogEntry> entries, List<List<Integer>> results, List<String> baseline,
+                           PrintStream out) throws IOException {
+    if (baseline.size() != results.size()) {
+      out.printf("Baseline has %d queries, this run has %d; not comparing%n", baseline.size(), results.size());
+      return;
+    }
+    int changed = 0;
+    for (int i = 0; i < results.size(); i++) {
+      List<Integer> before = Arrays.asList(mapper.readValue(baseline.get(i), Integer[].class));
+      List<Integer> after = results.get(i);
+      if (before.equals(after)) {
+        continue;
+      }
+      if (changed++ < 10) {
+        out.printf("  #%d %s %s: %d -> %d results%s%n", i, entries.get(i).getEndpoint(), entries.get(i).getParams(),
+            before.size(), after.size(),
+            before.size() == after.size() && before.containsAll(after) ? " (order only)" : "");
+      }
+    }
+    out.printf("%d of %d queries differ from the baseline%n", changed, results.size());
+  }
+
+  /**
+   * Nearest-rank percentile.
+   * @param sorted values in ascending order; must not be empty.
+   * @param p percentile from 1 to 100.
+   * @return the smallest value with at least p percent of values at or below it.
+   */
+  static long percentile(long[] sorted, int p) {
+    int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, index)];
+  }
+
+  private static Integer intOrNull(String value) {
+    return value != null ? Integer.valueOf(value) : null;
+  }
+}
@@ -0,0 +1,157 @@
+/**
+ * backend/src/main.java/com/example/myapp/TrailerBulkhead.java
+ *
+ * admission control for the trailer proxy
+ */
+
+package com.example.myapp;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounds how much of the server the trailer proxy can tie up.
+ *
+ * At most maxConcurrent upstream calls run at once. Up to maxQueue more
+ * requests may wait, each for at most queueTimeoutMs. A circuit breaker opens
+ * after failureThreshold consecutive failures (errors or calls slower than
+ * slowCallMs). While open it rejects calls immediately for openMs, then lets a
+ * single trial call through to decide whether to close again.
+ *
+ * Rejected calls throw RejectedExecutionException without running the task.
+ */
+@Component
+public class TrailerBulkhead {
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final int maxQueue;
+    private final long queueTimeoutMs;
+    private final int failureThreshold;
+    private final long openMs;
+    private final long slowCallMs;
+
+    // Circuit breaker state, guarded by this.
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    /**
+     * Constructor for TrailerBulkhead.
+     * @param maxConcurrent maximum upstream calls in flight.
+     * @param maxQueue maximum requests waiting for a permit.
+     * @param queueTimeoutMs how long a request may wait for a permit.
+     * @param failureThreshold consecutive failures that open the circuit.
+     * @param openMs how long the circuit stays open before a trial call.
+     * @param slowCallMs calls slower than this count as failures.
+     */
+    public TrailerBulkhead(@Value("${trailer.max-concurrent:8}") int maxConcurrent,
+                           @Value("${trailer.max-queue:16}") int maxQueue,
+                           @Value("${trailer.queue-timeout-ms:250}") long queueTimeoutMs,
+                           @Value("${trailer.breaker.failure-threshold:5}") int failureThreshold,
+                           @Value("${trailer.breaker.open-ms:30000}") long openMs,
+                           @Value("${trailer.breaker.slow-call-ms:2000}") long slowCallMs) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxQueue = maxQueue;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+        this.slowCallMs = slowCallMs;
+    }
+
+    /**
+     * Runs the task if the breaker and the concurrency limit allow it.
+     * @param task the upstream call.
+     * @return the task's result.
+     * @throws RejectedExecutionException if the call was shed.
+     * @throws Exception whatever the task throws.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        boolean trial = admit();
+        try {
+            acquire();
+        } catch (RejectedExecutionException e) {
+            if (trial) {
+                endTrial();
+            }
+            throw e;
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = task.call();
+            success = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) <= slowCallMs;
+            return result;
+        } finally {
+            permits.release();
+            record(trial, success);
+        }
+    }
+
+    /**
+     * Returns whether the circuit is currently open.
+     * @return true while calls are being fast-failed.
+     */
+    public synchronized boolean isOpen() {
+        return openUntil != 0;
+    }
+
+    private void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            throw new RejectedExecutionException("Trailer queue is full");
+        }
+        try {
+            if (!permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Timed out waiting for a trailer slot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted waiting for a trailer slot");
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    // Returns true if this call is the half-open trial.
+    private synchronized boolean admit() {
+        if (openUntil == 0) {
+            return false;
+        }
+        if (trialInFlight || System.currentTimeMillis() < openUntil) {
+            throw new RejectedExecutionException("Trailer circuit is open");
+        }
+        trialInFlight = true;
+        return true;
+    }
+
+    private synchronized void endTrial() {
+        trialInFlight = false;
+    }
+
+    private synchronized void record(boolean trial, boolean success) {
+        if (trial) {
+            trialInFlight = false;
+        } else if (openUntil != 0) {
+            // Calls admitted before the circuit opened don't decide its state.
+            return;
+        }
+        if (success) {
+            consecutiveFailures = 0;
+            openUntil = 0;
+        } else if (trial || ++consecutiveFailures >= failureThreshold) {
+            consecutiveFailures = 0;
+            openUntil = System.currentTimeMillis() + openMs;
+        }
+    }
+}
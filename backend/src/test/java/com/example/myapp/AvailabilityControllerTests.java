@@ -0,0 +1,66 @@
+package com.example.myapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Checks which availability batches reach the log.
+ */
+class AvailabilityControllerTests {
+
+	private final MovieService movieService = mock(MovieService.class);
+	private final AvailabilityLog availabilityLog = mock(AvailabilityLog.class);
+	private final AvailabilityController controller = new AvailabilityController(movieService, availabilityLog, "secret");
+
+	private HttpStatus statusOf(List<AvailabilityDelta> deltas) {
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> controller.applyAvailability("secret", deltas));
+		return HttpStatus.valueOf(e.getStatusCode().value());
+	}
+
+	@Test
+	void validBatchIsLoggedAndUnknownIdsAreReported() throws Exception {
+		when(movieService.getMovieById(1)).thenReturn(new Movie());
+		when(availabilityLog.apply(any())).thenReturn(2L);
+		List<AvailabilityDelta> deltas = List.of(AvailabilityDelta.of(1, List.of("Hulu"), null),
+				AvailabilityDelta.of(99, null, List.of("Max")));
+
+		ResponseEntity<Map<String, Object>> response = controller.applyAvailability("secret", deltas);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(Map.of("version", 2L, "skipped", List.of(99)), response.getBody());
+		verify(availabilityLog).apply(deltas);
+	}
+
+	@Test
+	void nullChangesAndBlankServicesAreRejected() throws Exception {
+		assertEquals(HttpStatus.BAD_REQUEST, statusOf(null));
+		assertEquals(HttpStatus.BAD_REQUEST, statusOf(Arrays.asList((AvailabilityDelta) null)));
+		assertEquals(HttpStatus.BAD_REQUEST,
+				statusOf(List.of(AvailabilityDelta.of(1, Arrays.asList((String) null), null))));
+		assertEquals(HttpStatus.BAD_REQUEST, statusOf(List.of(AvailabilityDelta.of(1, List.of(""), null))));
+		assertEquals(HttpStatus.BAD_REQUEST, statusOf(List.of(AvailabilityDelta.of(1, null, List.of("  ")))));
+		verify(availabilityLog, never()).apply(any());
+	}
+
+	@Test
+	void wrongTokenIsForbidden() throws Exception {
+		assertEquals(HttpStatus.FORBIDDEN, controller.applyAvailability("nope", List.of()).getStatusCode());
+		assertEquals(HttpStatus.FORBIDDEN, controller.applyAvailability(null, List.of()).getStatusCode());
+		verify(availabilityLog, never()).apply(any());
+	}
+}
@@ -0,0 +1,109 @@
+package com.example.myapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Simulates several instances sharing one availability log.
+ */
+class AvailabilityLogTests {
+
+	@TempDir
+	Path dir;
+
+	private AvailabilityLog instance(MovieService movieService) throws Exception {
+		return new AvailabilityLog(movieService, dir.resolve("availability.jsonl").toString(), 0);
+	}
+
+	@Test
+	void changesReachOtherInstancesAndNewOnes() throws Exception {
+		MovieService first = new MovieService();
+		MovieService second = new MovieService();
+		AvailabilityLog firstLog = instance(first);
+		AvailabilityLog secondLog = instance(second);
+
+		// Heat (1) moves from Max to Peacock.
+		firstLog.apply(List.of(AvailabilityDelta.of(1, List.of("Peacock"), List.of("Max"))));
+		assertEquals(List.of("Hulu", "Peacock"), first.getMovieById(1).getStreaming_services());
+		assertEquals(List.of("Hulu", "Max"), second.getMovieById(1).getStreaming_services());
+
+		secondLog.refresh();
+		assertEquals(List.of("Hulu", "Peacock"), second.getMovieById(1).getStreaming_services());
+
+		// A cold start replays the log on top of Movies2.json.
+		MovieService cold = new MovieService();
+		instance(cold);
+		assertEquals(List.of("Hulu", "Peacock"), cold.getMovieById(1).getStreaming_services());
+	}
+
+	@Test
+	void refreshWaitsForCompleteLines() throws Exception {
+		MovieService movieService = new MovieService();
+		AvailabilityLog log = instance(movieService);
+		Path file = dir.resolve("availability.jsonl");
+
+		Files.writeString(file, "[{\"id\":2,\"added\":[\"Max\"],\"removed\":[]}", StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		log.refresh();
+		assertEquals(List.of("Hulu"), movieService.getMovieById(2).getStreaming_services());
+
+		Files.writeString(file, "]\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+		log.refresh();
+		assertEquals(List.of("Hulu", "Max"), movieService.getMovieById(2).getStreaming_services());
+	}
+
+	@Test
+	void withoutALogChangesStayInMemory() throws Exception {
+		MovieService movieService = new MovieService();
+		AvailabilityLog log = new AvailabilityLog(movieService, "", 0);
+		long version = log.apply(List.of(AvailabilityDelta.of(2, List.of("Max"), null)));
+		assertEquals(2, version);
+		assertEquals(List.of("Hulu", "Max"), movieService.getMovieById(2).getStreaming_services());
+		assertEquals(List.of("Hulu"), new MovieService().getMovieById(2).getStreaming_services());
+	}
+
+	@Test
+	void badBatchesAreRejectedBeforeTheyAreWritten() throws Exception {
+		MovieService movieService = new MovieService();
+		AvailabilityLog log = instance(movieService);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> log.apply(List.of(AvailabilityDelta.of(1, Arrays.asList((String) null), null))));
+		assertThrows(IllegalArgumentException.class,
+				() -> log.apply(List.of(AvailabilityDelta.of(1, null, List.of(" ")))));
+		assertThrows(IllegalArgumentException.class, () -> log.apply(Arrays.asList((AvailabilityDelta) null)));
+		assertThrows(IllegalArgumentException.class, () -> log.apply(null));
+
+		assertFalse(Files.exists(dir.resolve("availability.jsonl")));
+		assertEquals(1, movieService.getCatalogVersion());
+	}
+
+	@Test
+	void startupSkipsBadLines() throws Exception {
+		Files.write(dir.resolve("availability.jsonl"), List.of(
+				"not json",
+				"[{\"id\":1,\"added\":[null]}]",
+				"[{\"id\":1,\"added\":[\"\"]}]",
+				"[null]",
+				"null",
+				"[{\"id\":2,\"added\":[\"Max\"]}]"));
+
+		MovieService movieService = new MovieService();
+		instance(movieService);
+
+		assertEquals(List.of("Hulu", "Max"), movieService.getMovieById(2).getStreaming_services());
+		assertEquals(List.of("Hulu", "Max"), movieService.getMovieById(1).getStreaming_services());
+		assertEquals(2, movieService.getCatalogVersion());
+	}
+}
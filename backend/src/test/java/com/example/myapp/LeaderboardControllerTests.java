@@ -0,0 +1,79 @@
+package com.example.myapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Checks how row specs are parsed before they reach MovieService.
+ */
+class LeaderboardControllerTests {
+
+	private final MovieService movieService = mock(MovieService.class);
+	private final LeaderboardController controller = new LeaderboardController(movieService);
+
+	LeaderboardControllerTests() {
+		when(movieService.getLeaderboards(anyList(), anyInt())).thenAnswer(call -> call.getArgument(0));
+	}
+
+	private List<LeaderboardRow> get(int limit, String... specs) {
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.put("row", List.of(specs));
+		return controller.getLeaderboards(params, limit);
+	}
+
+	private HttpStatus statusOf(String spec) {
+		ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> get(20, spec));
+		return HttpStatus.valueOf(e.getStatusCode().value());
+	}
+
+	@Test
+	void rowsAreParsedInRequestOrder() {
+		List<LeaderboardRow> rows = get(20, "genre:Science Fiction,service:Max,sort:popularity", "service:Hulu", "");
+
+		assertEquals("Science Fiction", rows.get(0).getGenre());
+		assertEquals("Max", rows.get(0).getService());
+		assertEquals("popularity", rows.get(0).getSort());
+		assertNull(rows.get(1).getGenre());
+		assertEquals("Hulu", rows.get(1).getService());
+		assertEquals("rating", rows.get(1).getSort());
+		assertNull(rows.get(2).getGenre());
+		assertNull(rows.get(2).getService());
+	}
+
+	@Test
+	void limitIsCappedAtSize() {
+		List<LeaderboardRow> rows = get(500, "service:Hulu");
+		verify(movieService).getLeaderboards(rows, Leaderboards.SIZE);
+	}
+
+	@Test
+	void emptyValuesAreRejected() {
+		assertEquals(HttpStatus.BAD_REQUEST, statusOf("genre:"));
+		assertEquals(HttpStatus.BAD_REQUEST, statusOf("genre:Drama,service:"));
+		assertEquals(HttpStatus.BAD_REQUEST, statusOf("sort:"));
+	}
+
+	@Test
+	void unknownPartsAndMissingRowsAreRejected() {
+		assertEquals(HttpStatus.BAD_REQUEST, statusOf("studio:A24"));
+		assertEquals(HttpStatus.BAD_REQUEST, statusOf("Drama"));
+		assertEquals(HttpStatus.BAD_REQUEST, statusOf(":Drama"));
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> controller.getLeaderboards(new LinkedMultiValueMap<>(), 20));
+		assertEquals(HttpStatus.BAD_REQUEST.value(), e.getStatusCode().value());
+	}
+}
@@ -0,0 +1,119 @@
+package com.example.myapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks leaderboard rows and how they follow availability changes.
+ */
+class LeaderboardsTests {
+
+	// 60 movies, more than Leaderboards.SIZE. Movie n is rated (n - 1) / 10, so 60 ranks first.
+	// Odd IDs are Drama, even IDs Comedy. All are on Hulu; only 1 to 3 are on Max.
+	private final MovieIndex base = new MovieIndex(catalog());
+
+	private static List<Movie> catalog() {
+		List<Movie> movies = new ArrayList<>();
+		for (int id = 1; id <= 60; id++) {
+			Movie movie = new Movie();
+			movie.setId(id);
+			movie.setTitle("Movie " + id);
+			movie.setVote_average((id - 1) / 10.0);
+			movie.setPopularity(60 - id);
+			movie.setGenres(List.of(id % 2 == 1 ? "Drama" : "Comedy"));
+			movie.setStreaming_services(id <= 3 ? List.of("Hulu", "Max") : List.of("Hulu"));
+			movies.add(movie);
+		}
+		return movies;
+	}
+
+	private static List<Integer> ids(List<Movie> movies) {
+		return movies.stream().map(Movie::getId).collect(Collectors.toList());
+	}
+
+	@Test
+	void rowsRankBestFirst() {
+		assertEquals(List.of(60, 59, 58), ids(base.leaderboard(null, null, "rating", 3)));
+		assertEquals(List.of(1, 2, 3), ids(base.leaderboard(null, null, "popularity", 3)));
+		assertEquals(List.of(59, 57), ids(base.leaderboard("Drama", null, "rating", 2)));
+		assertEquals(List.of(3, 2, 1), ids(base.leaderboard(null, "Max", "rating", 10)));
+		assertEquals(List.of(2), ids(base.leaderboard("Comedy", "Max", "rating", 10)));
+		assertEquals(List.of(), base.leaderboard("Western", null, "rating", 10));
+		assertEquals(List.of(), base.leaderboard(null, "Peacock", "rating", 10));
+	}
+
+	@Test
+	void movedMovieAppearsInItsNewServiceRows() {
+		MovieIndex next = base.withAvailability(
+				List.of(AvailabilityDelta.of(60, List.of("Max"), List.of("Hulu"))));
+
+		assertEquals(List.of(60, 3, 2, 1), ids(next.leaderboard(null, "Max", "rating", 10)));
+		assertEquals(List.of(60, 2), ids(next.leaderboard("Comedy", "Max", "rating", 10)));
+		assertEquals(List.of(1, 2, 3, 60), ids(next.leaderboard(null, "Max", "popularity", 10)));
+		assertFalse(ids(next.leaderboard(null, "Hulu", "rating", 50)).contains(60));
+		assertFalse(ids(next.leaderboard("Comedy", "Hulu", "rating", 50)).contains(60));
+		// The base index still serves the old rows.
+		assertEquals(List.of(3, 2, 1), ids(base.leaderboard(null, "Max", "rating", 10)));
+		assertEquals(60, base.leaderboard(null, "Hulu", "rating", 1).get(0).getId());
+	}
+
+	@Test
+	void rowsOfUntouchedServicesAreShared() {
+		MovieIndex next = base.withAvailability(List.of(AvailabilityDelta.of(60, List.of("Max"), null)));
+		Leaderboards before = base.getLeaderboards();
+		Leaderboards after = next.getLeaderboards();
+
+		for (String sort : List.of("rating", "popularity")) {
+			assertSame(before.row(null, null, sort), after.row(null, null, sort));
+			assertSame(before.row("Drama", null, sort), after.row("Drama", null, sort));
+			assertSame(before.row("Comedy", null, sort), after.row("Comedy", null, sort));
+			assertSame(before.row(null, "Hulu", sort), after.row(null, "Hulu", sort));
+			assertSame(before.row("Comedy", "Hulu", sort), after.row("Comedy", "Hulu", sort));
+			assertNotSame(before.row(null, "Max", sort), after.row(null, "Max", sort));
+			assertNotSame(before.row("Comedy", "Max", sort), after.row("Comedy", "Max", sort));
+		}
+	}
+
+	@Test
+	void serviceWithAnEmptyNameKeepsItsOwnRows() {
+		// AvailabilityDelta.validate keeps such names out of the log; the index must still not mix them up.
+		MovieIndex next = base.withAvailability(List.of(AvailabilityDelta.of(1, List.of(""), null)));
+
+		for (String sort : List.of("rating", "popularity")) {
+			assertSame(base.getLeaderboards().row(null, null, sort), next.getLeaderboards().row(null, null, sort));
+			assertSame(base.getLeaderboards().row("Drama", null, sort), next.getLeaderboards().row("Drama", null, sort));
+		}
+		assertEquals(List.of(60, 59, 58), ids(next.leaderboard(null, null, "rating", 3)));
+		assertEquals(List.of(1), ids(next.leaderboard(null, "", "rating", 10)));
+		assertEquals(List.of(1), ids(next.leaderboard("Drama", "", "rating", 10)));
+	}
+
+	@Test
+	void rowsOfAnEmptiedServiceAreDropped() {
+		MovieIndex next = base.withAvailability(List.of(
+				AvailabilityDelta.of(1, null, List.of("Max")),
+				AvailabilityDelta.of(2, null, List.of("Max")),
+				AvailabilityDelta.of(3, null, List.of("Max"))));
+
+		assertEquals(List.of(), next.leaderboard(null, "Max", "rating", 10));
+		assertEquals(0, next.getLeaderboards().row("Drama", "Max", "popularity").length);
+	}
+
+	@Test
+	void limitIsCappedAtSize() {
+		assertEquals(Leaderboards.SIZE, base.getLeaderboards().row(null, "Hulu", "rating").length);
+		assertEquals(Leaderboards.SIZE, base.leaderboard(null, null, "rating", 500).size());
+		assertEquals(30, base.leaderboard("Drama", "Hulu", "rating", 500).size());
+		assertEquals(10, base.leaderboard(null, null, "popularity", 10).size());
+		assertTrue(base.leaderboard(null, null, "rating", -1).isEmpty());
+	}
+}
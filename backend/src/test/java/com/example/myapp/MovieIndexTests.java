@@ -0,0 +1,119 @@
+package com.example.myapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that availability changes produce a new index and leave the old one intact.
+ */
+class MovieIndexTests {
+
+	private static Movie movie(int id, String genre, List<String> services) {
+		Movie movie = new Movie();
+		movie.setId(id);
+		movie.setTitle("Movie " + id);
+		movie.setGenres(List.of(genre));
+		movie.setStreaming_services(services);
+		return movie;
+	}
+
+	private static BitSet bits(int... positions) {
+		BitSet bits = new BitSet();
+		for (int position : positions) {
+			bits.set(position);
+		}
+		return bits;
+	}
+
+	private final MovieIndex base = new MovieIndex(List.of(
+			movie(10, "Drama", List.of("Hulu", "Max")),
+			movie(20, "Comedy", List.of("Max")),
+			movie(30, "Drama", List.of("Peacock"))));
+
+	@Test
+	void deltaLeavesTheBaseIndexUnchanged() {
+		Movie heldByReader = base.getById(10);
+		base.withAvailability(List.of(AvailabilityDelta.of(10, List.of("Netflix"), List.of("Max")),
+				AvailabilityDelta.of(30, null, List.of("Peacock"))));
+
+		assertEquals(1, base.getVersion());
+		assertSame(heldByReader, base.getById(10));
+		assertEquals(List.of("Hulu", "Max"), base.getById(10).getStreaming_services());
+		assertEquals(bits(0, 1), base.withAnyService(List.of("Max")));
+		assertEquals(bits(), base.withAnyService(List.of("Netflix")));
+		assertEquals(bits(2), base.withAnyService(List.of("Peacock")));
+		assertEquals(List.of("Hulu", "Max", "Peacock"), base.getStreamingServices());
+	}
+
+	@Test
+	void newIndexReflectsTheDelta() {
+		MovieIndex next = base.withAvailability(
+				List.of(AvailabilityDelta.of(10, List.of("Netflix"), List.of("Max"))));
+
+		assertEquals(2, next.getVersion());
+		assertEquals(List.of("Hulu", "Netflix"), next.getById(10).getStreaming_services());
+		assertEquals(bits(1), next.withAnyService(List.of("Max")));
+		assertEquals(bits(0), next.withAnyService(List.of("Netflix")));
+		assertEquals(bits(0), next.withAnyService(List.of("Hulu")));
+		assertEquals(List.of("Hulu", "Max", "Netflix", "Peacock"), next.getStreamingServices());
+		// Untouched movies and genre filters are shared.
+		assertSame(base.getById(20), next.getById(20));
+		assertEquals(bits(0, 2), next.withAnyGenre(List.of("Drama")));
+	}
+
+	@Test
+	void serviceDisappearsWithItsLastMovie() {
+		MovieIndex next = base.withAvailability(List.of(AvailabilityDelta.of(30, null, List.of("Peacock"))));
+
+		assertEquals(List.of(), next.getById(30).getStreaming_services());
+		assertEquals(bits(), next.withAnyService(List.of("Peacock")));
+		assertEquals(List.of("Hulu", "Max"), next.getStreamingServices());
+	}
+
+	@Test
+	void unknownIdsAndNoOpChangesAreSkipped() {
+		MovieIndex next = base.withAvailability(List.of(AvailabilityDelta.of(99, List.of("Netflix"), null),
+				AvailabilityDelta.of(20, List.of("Max"), List.of("Hulu"))));
+
+		assertEquals(2, next.getVersion());
+		assertNull(next.getById(99));
+		assertEquals(List.of("Max"), next.getById(20).getStreaming_services());
+		assertEquals(bits(0, 1), next.withAnyService(List.of("Max")));
+		assertTrue(next.withAnyService(List.of("Netflix")).isEmpty());
+		assertEquals(base.getStreamingServices(), next.getStreamingServices());
+	}
+
+	@Test
+	void emptyNameListsMatchNothing() {
+		assertEquals(bits(0, 1, 2), base.withAnyService(null));
+		assertEquals(bits(), base.withAnyService(List.of()));
+		assertEquals(bits(), base.withAnyGenre(List.of()));
+	}
+
+	@Test
+	void ratingRangeExcludesOnlyWhenItLeavesAMovieOut() {
+		// Every movie here is rated 0.
+		assertFalse(base.ratingExcludesAny(0, 10));
+		assertFalse(base.ratingExcludesAny(0, 0));
+		assertTrue(base.ratingExcludesAny(0.5, 10));
+		assertTrue(base.ratingExcludesAny(10, 0));
+	}
+
+	@Test
+	void deltasChainAcrossVersions() {
+		MovieIndex second = base.withAvailability(List.of(AvailabilityDelta.of(20, List.of("Hulu"), null)));
+		MovieIndex third = second.withAvailability(List.of(AvailabilityDelta.of(20, null, List.of("Hulu"))));
+
+		assertEquals(3, third.getVersion());
+		assertEquals(bits(0, 1), second.withAnyService(List.of("Hulu")));
+		assertEquals(bits(0), third.withAnyService(List.of("Hulu")));
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.myapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs getFilteredMovies against the test catalog in src/test/resources/Movies2.json.
+ */
+class MovieServiceTests {
+
+	private final MovieService movieService = new MovieService();
+
+	private List<Integer> filtered(String services, String genres, double min, double max,
+			Integer yearFrom, Integer yearTo, Integer minRuntime, Integer maxRuntime) {
+		return ids(movieService.getFilteredMovies(services, genres, min, max,
+				yearFrom, yearTo, minRuntime, maxRuntime, "alphabetical"));
+	}
+
+	private static List<Integer> ids(List<Movie> movies) {
+		return movies.stream().map(Movie::getId).sorted().collect(Collectors.toList());
+	}
+
+	// The stream filters getFilteredMovies used before the index.
+	private List<Integer> streamFiltered(String services, String genres, double min, double max) {
+		return ids(movieService.getAllMovies().stream()
+				.filter(movie -> {
+					if (services != null && !services.isEmpty()) {
+						List<String> svcFilter = Arrays.asList(services.split(","));
+						return movie.getStreaming_services().stream().anyMatch(svcFilter::contains);
+					}
+					return true;
+				})
+				.filter(movie -> {
+					if (genres != null && !genres.isEmpty()) {
+						List<String> genreFilter = Arrays.asList(genres.split(","));
+						return movie.getGenres().stream().anyMatch(genreFilter::contains);
+					}
+					return true;
+				})
+				.filter(movie -> movie.getVote_average() >= min && movie.getVote_average() <= max)
+				.collect(Collectors.toList()));
+	}
+
+	@Test
+	void serviceGenreAndRatingMatchStreamFilters() {
+		List<String> serviceOptions = Arrays.asList(null, "", ",", "Hulu", "Max,Netflix", "Peacock", "Nope", "Hulu,Nope");
+		List<String> genreOptions = Arrays.asList(null, "", ",", "Drama", "Comedy,Horror", "Science Fiction", "Nope");
+		double[][] ratings = { { 0, 10 }, { 7.7, 8.1 }, { 8.0, 8.0 }, { 9, 10 }, { 8, 7 } };
+		for (String services : serviceOptions) {
+			for (String genres : genreOptions) {
+				for (double[] rating : ratings) {
+					assertEquals(streamFiltered(services, genres, rating[0], rating[1]),
+							filtered(services, genres, rating[0], rating[1], null, null, null, null),
+							services + " / " + genres + " / " + Arrays.toString(rating));
+				}
+			}
+		}
+	}
+
+	@Test
+	void yearBoundsAreInclusive() {
+		// Clueless, Toy Story, Heat and Before Sunrise are from 1995.
+		assertEquals(List.of(1, 2, 4, 12), filtered(null, null, 0, 10, 1995, 1995, null, null));
+		assertEquals(List.of(1, 2, 4, 7, 8, 12), filtered(null, null, 0, 10, 1995, 1999, null, null));
+	}
+
+	@Test
+	void yearBoundsCanBeOpenEnded() {
+		assertEquals(List.of(3, 9), filtered(null, null, 0, 10, null, 1979, null, null));
+		assertEquals(List.of(7, 8), filtered(null, null, 0, 10, 1996, null, null, null));
+	}
+
+	@Test
+	void unknownYearsDropOutOnlyWhenAYearBoundIsGiven() {
+		// 5 has an empty release_date, 6 has "TBA" and 11 has none.
+		List<Integer> all = filtered(null, null, 0, 10, null, null, null, null);
+		assertEquals(12, all.size());
+		List<Integer> anyYear = filtered(null, null, 0, 10, 0, 9999, null, null);
+		assertEquals(withoutIds(all, 5, 6, 11), anyYear);
+		// A runtime bound alone keeps them.
+		assertEquals(List.of(5, 10, 11), filtered("Netflix,Peacock", null, 0, 10, null, null, 100, 120));
+	}
+
+	@Test
+	void runtimeBoundsAreInclusiveAndCanBeOpenEnded() {
+		assertEquals(List.of(2, 5, 10, 12), filtered(null, null, 0, 10, null, null, 97, 105));
+		assertEquals(List.of(2, 4, 5, 10), filtered(null, null, 0, 10, null, null, null, 101));
+		assertEquals(List.of(1, 8), filtered(null, null, 0, 10, null, null, 169, null));
+	}
+
+	@Test
+	void zeroRuntimeDropsOutOnlyWhenARuntimeBoundIsGiven() {
+		// 6 and 7 have runtime 0.
+		assertEquals(List.of(5, 6, 7, 10), filtered("Netflix", null, 0, 10, null, null, null, null));
+		assertEquals(List.of(5, 10), filtered("Netflix", null, 0, 10, null, null, 0, 1000));
+		assertEquals(List.of(7), filtered("Netflix", null, 0, 10, 1999, 1999, null, null));
+	}
+
+	@Test
+	void rangeFiltersCombineWithServiceGenreAndRating() {
+		// 90s movies under two hours on Hulu or Max: Clueless (1995, 97 min) and Before Sunrise (1995, 105 min).
+		assertEquals(List.of(2, 12), filtered("Hulu,Max", null, 0, 10, 1990, 1999, null, 120));
+		assertEquals(List.of(12), filtered("Hulu,Max", "Drama", 7, 10, 1990, 1999, null, 120));
+	}
+
+	private static List<Integer> withoutIds(List<Integer> ids, Integer... excluded) {
+		List<Integer> result = new ArrayList<>(ids);
+		result.removeAll(Arrays.asList(excluded));
+		return result;
+	}
+}
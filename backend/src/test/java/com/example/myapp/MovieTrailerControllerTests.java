@@ -0,0 +1,146 @@
+package com.example.myapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the trailer proxy against a local stub of the YouTube search page.
+ */
+class MovieTrailerControllerTests {
+
+	private HttpServer stub;
+	private final AtomicInteger hits = new AtomicInteger();
+	private volatile long delayMs;
+	private volatile int status = 200;
+	private final CountDownLatch release = new CountDownLatch(1);
+	private volatile boolean blockUntilReleased;
+
+	private MovieService movieService;
+
+	@BeforeEach
+	void startStub() throws Exception {
+		stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		stub.setExecutor(Executors.newCachedThreadPool());
+		stub.createContext("/results", exchange -> {
+			hits.incrementAndGet();
+			try {
+				if (blockUntilReleased) {
+					release.await(5, TimeUnit.SECONDS);
+				}
+				Thread.sleep(delayMs);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = "<script>{\"videoId\":\"abc123\"}</script>".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(status, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		stub.start();
+
+		Movie movie = new Movie();
+		movie.setId(1);
+		movie.setTitle("Alien");
+		movie.setRelease_date("1979-05-25");
+		movieService = mock(MovieService.class);
+		when(movieService.getMovieById(1)).thenReturn(movie);
+	}
+
+	@AfterEach
+	void stopStub() {
+		release.countDown();
+		stub.stop(0);
+	}
+
+	private MovieTrailerController controller(TrailerBulkhead bulkhead, int timeoutMs) {
+		String url = "http://localhost:" + stub.getAddress().getPort() + "/results?search_query=";
+		return new MovieTrailerController(movieService, bulkhead, url, timeoutMs);
+	}
+
+	private static HttpStatus statusOf(ResponseStatusException e) {
+		return HttpStatus.valueOf(e.getStatusCode().value());
+	}
+
+	@Test
+	void returnsFirstVideoId() {
+		MovieTrailerController controller = controller(new TrailerBulkhead(2, 2, 100, 3, 60_000, 2_000), 1_000);
+		assertEquals("abc123", controller.getTrailer(1).get("videoId"));
+	}
+
+	@Test
+	void upstreamErrorIsBadGateway() {
+		status = 500;
+		MovieTrailerController controller = controller(new TrailerBulkhead(2, 2, 100, 3, 60_000, 2_000), 1_000);
+		ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> controller.getTrailer(1));
+		assertEquals(HttpStatus.BAD_GATEWAY, statusOf(e));
+	}
+
+	@Test
+	void slowUpstreamTimesOutThenOpensCircuit() {
+		delayMs = 1_000;
+		TrailerBulkhead bulkhead = new TrailerBulkhead(2, 2, 100, 2, 60_000, 2_000);
+		MovieTrailerController controller = controller(bulkhead, 100);
+
+		for (int i = 0; i < 2; i++) {
+			ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> controller.getTrailer(1));
+			assertEquals(HttpStatus.GATEWAY_TIMEOUT, statusOf(e));
+		}
+		assertTrue(bulkhead.isOpen());
+
+		int before = hits.get();
+		ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> controller.getTrailer(1));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, statusOf(e));
+		assertEquals(before, hits.get());
+	}
+
+	@Test
+	void circuitClosesAfterSuccessfulTrial() throws Exception {
+		status = 500;
+		TrailerBulkhead bulkhead = new TrailerBulkhead(2, 2, 100, 1, 50, 2_000);
+		MovieTrailerController controller = controller(bulkhead, 1_000);
+		assertThrows(ResponseStatusException.class, () -> controller.getTrailer(1));
+		assertTrue(bulkhead.isOpen());
+
+		Thread.sleep(100);
+		status = 200;
+		assertEquals("abc123", controller.getTrailer(1).get("videoId"));
+		assertFalse(bulkhead.isOpen());
+	}
+
+	@Test
+	void shedsRequestsBeyondConcurrencyAndQueue() throws Exception {
+		blockUntilReleased = true;
+		MovieTrailerController controller = controller(new TrailerBulkhead(1, 0, 50, 3, 60_000, 10_000), 5_000);
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> controller.getTrailer(1).get("videoId"));
+		while (hits.get() == 0) {
+			Thread.sleep(5);
+		}
+		ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> controller.getTrailer(1));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, statusOf(e));
+		assertEquals(1, hits.get());
+
+		release.countDown();
+		assertEquals("abc123", first.get(5, TimeUnit.SECONDS));
+	}
+}
@@ -0,0 +1,218 @@
+package com.example.myapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the Lambda build against a local stub of the Lambda Runtime API and
+ * compares the responses it posts back with the JVM server's, route by route.
+ *
+ * The app is started the way template-native.yaml starts it: "lambda" profile,
+ * a non-class _HANDLER and AWS_LAMBDA_RUNTIME_API pointing at the stub. The
+ * recorded API Gateway event in src/test/resources/api-gateway-event.json is
+ * replayed as-is and with its path and query swapped for the other routes.
+ *
+ * By default the app runs in a child JVM on the test classpath. To check the
+ * native executable or the AOT-generated context it was built from:
+ *   mvn -Pnative -DskipTests package
+ *   mvn test -Dtest=NativeImageParityTests -Dnative.binary=target/bootstrap
+ *   mvn test -Dtest=NativeImageParityTests -Dnative.aot=true
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class NativeImageParityTests {
+
+	private static final String RUNTIME = "/2018-06-01/runtime";
+
+	// Search is left out: it writes relevanceScore onto the shared Movie objects,
+	// so the JVM side's answers depend on what other tests searched for.
+	private static final List<String> PATHS = List.of(
+			"/",
+			"/api/movies/all",
+			"/api/streaming-services",
+			"/api/movies/filtered?yearFrom=1990&yearTo=1999&maxRuntime=120&sort=popularity",
+			"/api/movies/3",
+			"/api/movies/999");
+
+	private static final ObjectMapper mapper = new ObjectMapper();
+	private static final HttpClient client = HttpClient.newHttpClient();
+	private static final BlockingQueue<String[]> events = new LinkedBlockingQueue<>();
+	private static final Map<String, CompletableFuture<String>> responses = new ConcurrentHashMap<>();
+
+	private static HttpServer stub;
+	private static ExecutorService stubThreads;
+	private static Process lambda;
+
+	@LocalServerPort
+	private int jvmPort;
+
+	@BeforeAll
+	static void startLambda() throws Exception {
+		stubThreads = Executors.newCachedThreadPool();
+		stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		stub.setExecutor(stubThreads);
+		stub.createContext(RUNTIME + "/invocation/next", exchange -> {
+			try {
+				// Like the real API, hold the poll open until an event arrives.
+				String[] event = events.take();
+				exchange.getResponseHeaders().add("Lambda-Runtime-Aws-Request-Id", event[0]);
+				exchange.getResponseHeaders().add("Lambda-Runtime-Deadline-Ms",
+						Long.toString(System.currentTimeMillis() + 30_000));
+				exchange.getResponseHeaders().add("Lambda-Runtime-Invoked-Function-Arn",
+						"arn:aws:lambda:us-east-1:123456789012:function:stinger");
+				exchange.getResponseHeaders().add("Lambda-Runtime-Trace-Id", "Root=1-5759e988-bd862e3fe1be46a994272793");
+				respond(exchange, 200, event[1]);
+			} catch (InterruptedException e) {
+				exchange.close();
+			}
+		});
+		stub.createContext(RUNTIME + "/invocation/", exchange -> {
+			String[] parts = exchange.getRequestURI().getPath().substring((RUNTIME + "/invocation/").length()).split("/");
+			String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+			respond(exchange, 202, "");
+			CompletableFuture<String> response = responses.computeIfAbsent(parts[0], id -> new CompletableFuture<>());
+			if (parts[1].equals("response")) {
+				response.complete(body);
+			} else {
+				response.completeExceptionally(new AssertionError("Invocation error: " + body));
+			}
+		});
+		stub.start();
+
+		List<String> command = new ArrayList<>();
+		String binary = System.getProperty("native.binary");
+		if (binary != null && new File(binary).canExecute()) {
+			command.add(binary);
+		} else {
+			command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+			if (Boolean.getBoolean("native.aot")) {
+				command.add("-Dspring.aot.enabled=true");
+			}
+			command.add("-cp");
+			command.add(System.getProperty("java.class.path"));
+			command.add(DemoApplication.class.getName());
+		}
+		ProcessBuilder builder = new ProcessBuilder(command).inheritIO();
+		builder.environment().put("AWS_LAMBDA_RUNTIME_API", "localhost:" + stub.getAddress().getPort());
+		builder.environment().put("_HANDLER", "bootstrap");
+		builder.environment().put("SPRING_PROFILES_ACTIVE", "lambda");
+		lambda = builder.start();
+	}
+
+	@AfterAll
+	static void stopLambda() throws Exception {
+		if (lambda != null) {
+			lambda.destroy();
+			lambda.waitFor(10, TimeUnit.SECONDS);
+		}
+		stub.stop(0);
+		stubThreads.shutdownNow();
+	}
+
+	@Test
+	void recordedEventMatchesJvm() throws Exception {
+		assertEquals(get("/api/movies/filtered?genres=Action,Drama&sort=rating"), invoke("recorded", recordedEvent()));
+	}
+
+	@Test
+	void everyRouteMatchesJvm() throws Exception {
+		List<String> expected = new ArrayList<>();
+		List<String> actual = new ArrayList<>();
+		for (int i = 0; i < PATHS.size(); i++) {
+			expected.add(get(PATHS.get(i)));
+			actual.add(invoke("route-" + i, eventFor(PATHS.get(i))));
+		}
+		assertEquals(expected, actual);
+	}
+
+	// Queues one event and returns "<statusCode> <body>" from the posted proxy response.
+	private static String invoke(String requestId, String event) throws Exception {
+		CompletableFuture<String> response = responses.computeIfAbsent(requestId, id -> new CompletableFuture<>());
+		events.add(new String[] { requestId, event });
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+		while (!response.isDone()) {
+			assertTrue(lambda.isAlive(), "Lambda process exited");
+			assertTrue(System.nanoTime() < deadline, "No response for " + requestId);
+			Thread.sleep(50);
+		}
+		JsonNode proxyResponse = mapper.readTree(response.get());
+		String body = proxyResponse.path("body").asText("");
+		if (proxyResponse.path("isBase64Encoded").asBoolean()) {
+			body = new String(Base64.getDecoder().decode(body), StandardCharsets.UTF_8);
+		}
+		return proxyResponse.path("statusCode").asInt() + " " + body;
+	}
+
+	private String get(String pathAndQuery) throws Exception {
+		HttpResponse<String> response = client.send(
+				HttpRequest.newBuilder(URI.create("http://localhost:" + jvmPort + pathAndQuery)).build(),
+				HttpResponse.BodyHandlers.ofString());
+		return response.statusCode() + " " + response.body();
+	}
+
+	private static String recordedEvent() throws IOException {
+		try (InputStream in = NativeImageParityTests.class.getResourceAsStream("/api-gateway-event.json")) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	// The recorded event with its path and query replaced.
+	private static String eventFor(String pathAndQuery) throws IOException {
+		ObjectNode event = (ObjectNode) mapper.readTree(recordedEvent());
+		URI uri = URI.create(pathAndQuery);
+		event.put("path", uri.getPath());
+		ObjectNode query = event.putObject("queryStringParameters");
+		ObjectNode multiQuery = event.putObject("multiValueQueryStringParameters");
+		if (uri.getQuery() != null) {
+			for (String pair : uri.getQuery().split("&")) {
+				String[] kv = pair.split("=", 2);
+				query.put(kv[0], kv[1]);
+				multiQuery.putArray(kv[0]).add(kv[1]);
+			}
+		}
+		((ObjectNode) event.get("pathParameters")).put("proxy", uri.getPath().substring(1));
+		return mapper.writeValueAsString(event);
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		if (bytes.length > 0) {
+			exchange.getResponseBody().write(bytes);
+		}
+		exchange.close();
+	}
+}
@@ -0,0 +1,89 @@
+package com.example.myapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class QueryLogTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void writesEveryQueuedEntryOnClose() throws Exception {
+		Path file = dir.resolve("queries.jsonl");
+		QueryLog log = new QueryLog(true, file.toString(), 1000);
+		for (int i = 0; i < 100; i++) {
+			log.record("search", Map.of("q", "alien " + i), i, 1_500_000);
+		}
+		log.close();
+
+		List<String> lines = Files.readAllLines(file);
+		assertEquals(100, lines.size());
+		QueryLogEntry last = new ObjectMapper().readValue(lines.get(99), QueryLogEntry.class);
+		assertEquals("search", last.getEndpoint());
+		assertEquals("alien 99", last.getParams().get("q"));
+		assertEquals(99, last.getResultCount());
+		assertEquals(1_500, last.getLatencyMicros());
+		assertEquals(0, log.getDropped());
+	}
+
+	@Test
+	void disabledLogWritesNothing() throws Exception {
+		Path file = dir.resolve("queries.jsonl");
+		QueryLog log = new QueryLog(false, file.toString(), 1000);
+		log.record("search", Map.of("q", "alien"), 1, 1_000);
+		log.close();
+		assertFalse(Files.exists(file));
+	}
+
+	@Test
+	void failedWritesAreCountedAndTheWriterKeepsGoing() throws Exception {
+		// Every write to /dev/full fails with "No space left on device".
+		assumeTrue(Files.isWritable(Paths.get("/dev/full")), "no /dev/full");
+		QueryLog log = new QueryLog(true, "/dev/full", 1000);
+		log.record("search", Map.of("q", "alien"), 1, 1_000);
+		awaitDropped(log, 1);
+		log.record("search", Map.of("q", "jaws"), 1, 1_000);
+		log.record("search", Map.of("q", "heat"), 1, 1_000);
+		awaitDropped(log, 3);
+		log.close();
+	}
+
+	@Test
+	void fileIsReopenedOnceItCanBeWrittenAgain() throws Exception {
+		Path file = dir.resolve("later").resolve("queries.jsonl");
+		QueryLog log = new QueryLog(true, file.toString(), 1000);
+		log.record("search", Map.of("q", "alien"), 1, 1_000);
+		awaitDropped(log, 1);
+
+		Files.createDirectories(file.getParent());
+		log.record("search", Map.of("q", "jaws"), 1, 1_000);
+		log.close();
+
+		List<String> lines = Files.readAllLines(file);
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0).contains("jaws"));
+		assertEquals(1, log.getDropped());
+	}
+
+	private static void awaitDropped(QueryLog log, long expected) throws InterruptedException {
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (log.getDropped() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(expected, log.getDropped());
+	}
+}
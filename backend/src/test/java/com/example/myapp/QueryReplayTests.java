@@ -0,0 +1,155 @@
+package com.example.myapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Replays a small captured log in-process against the test catalog.
+ */
+class QueryReplayTests {
+
+	@TempDir
+	Path dir;
+
+	private Path logFile;
+	private Path baseline;
+
+	@BeforeEach
+	void captureLog() throws Exception {
+		logFile = dir.resolve("queries.jsonl");
+		baseline = dir.resolve("baseline.jsonl");
+		QueryLog log = new QueryLog(true, logFile.toString(), 100);
+		log.record("search", Map.of("q", "alien"), 1, 1_000);
+		log.record("filtered", Map.of("genres", "Drama", "sort", "rating"), 6, 1_000);
+		log.record("filtered", Map.of("services", "Netflix,Peacock", "minRuntime", "100", "maxRuntime", "120"), 3, 1_000);
+		log.close();
+	}
+
+	private String replay(String... options) throws Exception {
+		List<String> args = new ArrayList<>();
+		args.add(logFile.toString());
+		args.addAll(List.of(options));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		QueryReplay.replay(args.toArray(new String[0]), new PrintStream(bytes, true, StandardCharsets.UTF_8));
+		return bytes.toString(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void outWritesTheResultIdsOfEveryQuery() throws Exception {
+		String report = replay("--warmup", "1", "--out", baseline.toString());
+
+		assertTrue(report.startsWith("Replayed 3 queries in-process"), report);
+		assertTrue(report.contains("  filtered  n=2 "), report);
+		assertTrue(report.contains("  search    n=1 "), report);
+		assertEquals(List.of("[3]", "[8,12,6,5]", "[10,5,11]"), Files.readAllLines(baseline));
+	}
+
+	@Test
+	void sameBuildMatchesItsOwnBaseline() throws Exception {
+		replay("--out", baseline.toString());
+		String report = replay("--baseline", baseline.toString());
+
+		assertTrue(report.contains("0 of 3 queries differ from the baseline"), report);
+	}
+
+	@Test
+	void changedResultsAreFlagged() throws Exception {
+		replay("--out", baseline.toString());
+		List<String> lines = new ArrayList<>(Files.readAllLines(baseline));
+		lines.set(0, "[3,7]");
+		List<String> reordered = new ArrayList<>(List.of(lines.get(1).replaceAll("[\\[\\]]", "").split(",")));
+		Collections.reverse(reordered);
+		lines.set(1, "[" + String.join(",", reordered) + "]");
+		Files.write(baseline, lines);
+
+		String report = replay("--baseline", baseline.toString());
+
+		assertTrue(report.contains("  #0 search {q=alien}: 2 -> 1 results\n"), report);
+		assertTrue(report.contains("  #1 filtered ") && report.contains(": 4 -> 4 results (order only)"), report);
+		assertTrue(report.contains("2 of 3 queries differ from the baseline"), report);
+	}
+
+	@Test
+	void baselineOfAnotherLogIsNotCompared() throws Exception {
+		Files.write(baseline, List.of("[1]"));
+
+		String report = replay("--baseline", baseline.toString());
+
+		assertTrue(report.contains("Baseline has 1 queries, this run has 3; not comparing"), report);
+	}
+
+	@Test
+	void urlModeReadsTheReturnedIds() throws Exception {
+		HttpServer server = stub(200, "[{\"id\":4},{\"id\":2}]");
+		try {
+			String report = replay("--url", "http://localhost:" + server.getAddress().getPort(),
+					"--out", baseline.toString());
+
+			assertTrue(report.startsWith("Replayed 3 queries against http://localhost:"), report);
+			assertEquals(List.of("[4,2]", "[4,2]", "[4,2]"), Files.readAllLines(baseline));
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	void urlModeFailsOnAnErrorStatus() throws Exception {
+		HttpServer server = stub(500, "{\"error\":\"Internal Server Error\"}");
+		try {
+			IOException e = assertThrows(IOException.class,
+					() -> replay("--url", "http://localhost:" + server.getAddress().getPort()));
+			assertTrue(e.getMessage().startsWith("HTTP 500 for http://localhost:"), e.getMessage());
+			assertTrue(e.getMessage().endsWith("/api/movies/search?q=alien"), e.getMessage());
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	private static HttpServer stub(int status, String body) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/api/movies/", exchange -> {
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(status, bytes.length);
+			exchange.getResponseBody().write(bytes);
+			exchange.close();
+		});
+		server.start();
+		return server;
+	}
+
+	@Test
+	void percentileUsesNearestRank() {
+		long[] hundred = new long[100];
+		for (int i = 0; i < hundred.length; i++) {
+			hundred[i] = i + 1;
+		}
+		assertEquals(50, QueryReplay.percentile(hundred, 50));
+		assertEquals(90, QueryReplay.percentile(hundred, 90));
+		assertEquals(99, QueryReplay.percentile(hundred, 99));
+		assertEquals(100, QueryReplay.percentile(hundred, 100));
+
+		long[] ten = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+		assertEquals(5, QueryReplay.percentile(ten, 50));
+		assertEquals(10, QueryReplay.percentile(ten, 99));
+		assertEquals(7, QueryReplay.percentile(new long[] { 7 }, 1));
+	}
+}